@@ -0,0 +1,8 @@
+-- Contador de comentarios denormalizado em tasks e registro de migracoes de dados.
+-- O backfill do contador roda no start da aplicacao (data_migrations: comment-count-backfill).
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS comment_count integer NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS data_migrations (
+    name       varchar(100) PRIMARY KEY,
+    applied_at timestamp(6) NOT NULL
+);
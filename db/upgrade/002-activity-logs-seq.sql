@@ -0,0 +1,8 @@
+-- Sequencia (pooled, incremento 50) que permite ao Hibernate agrupar os inserts de activity_logs.
+-- Comeca acima do maior id existente; a coluna identity continua valida para inserts manuais.
+CREATE SEQUENCE IF NOT EXISTS activity_logs_seq INCREMENT BY 50;
+
+SELECT setval('activity_logs_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) + 50 FROM activity_logs),
+    (SELECT last_value FROM activity_logs_seq)
+));
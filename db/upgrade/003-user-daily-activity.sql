@@ -0,0 +1,10 @@
+-- Agregado diario por usuario que alimenta o heatmap.
+-- O backfill a partir de activity_logs roda no start (data_migrations: daily-activity-backfill).
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    user_id        bigint       NOT NULL,
+    day            date         NOT NULL,
+    activity_count integer      NOT NULL,
+    points         integer      NOT NULL,
+    updated_at     timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, day)
+);
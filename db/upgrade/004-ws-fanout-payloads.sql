@@ -0,0 +1,8 @@
+-- Payloads grandes demais para um NOTIFY no modo de broker postgres; os nos leem pelo id.
+CREATE TABLE IF NOT EXISTS ws_fanout_payloads (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    body       text         NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ws_fanout_created ON ws_fanout_payloads (created_at);
@@ -0,0 +1,21 @@
+-- Notificacoes persistidas e a caixa de entrada por usuario (replay na reconexao).
+-- notifications_seq usa incremento 1: os ids seguem a ordem de alocacao entre os nos.
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id         bigint       PRIMARY KEY,
+    type       varchar(255) NOT NULL,
+    payload    text         NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_created ON notifications (created_at);
+
+CREATE TABLE IF NOT EXISTS notification_inbox (
+    user_id         bigint       NOT NULL,
+    notification_id bigint       NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    PRIMARY KEY (user_id, notification_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inbox_created ON notification_inbox (created_at);
@@ -3,10 +3,18 @@ import SockJS from 'sockjs-client';
 import type { Notification, ProjectEvent } from '../types';
 
 const WS_URL = 'http://localhost:8080/api/ws';
+// Last notification sequence received; sent as "since" on CONNECT to replay what was missed
+const LAST_SEQ_KEY = 'nexilum.notifications.lastSeq';
 
 type NotificationCallback = (notification: Notification) => void;
 type ProjectEventCallback = (event: ProjectEvent) => void;
 
+interface NotificationReplay {
+  notifications: unknown[];
+  lastSeq: number;
+  hasMore: boolean;
+}
+
 class WebSocketService {
   private client: Client | null = null;
   private notificationCallback: NotificationCallback | null = null;
@@ -29,6 +37,15 @@ class WebSocketService {
       connectHeaders: {
         Authorization: `Bearer ${token}`,
       },
+      beforeConnect: () => {
+        // Refresh the cursor on every (re)connect
+        const since = localStorage.getItem(LAST_SEQ_KEY);
+        if (this.client) {
+          this.client.connectHeaders = since
+            ? { Authorization: `Bearer ${token}`, since }
+            : { Authorization: `Bearer ${token}` };
+        }
+      },
       debug: (str) => {
         if (import.meta.env.DEV) {
           console.log('[WebSocket]', str);
@@ -83,6 +100,25 @@ class WebSocketService {
       }
     });
 
+    // Notifications missed while disconnected, sent once after subscribing
+    this.client.subscribe('/user/queue/notifications/replay', (message: IMessage) => {
+      try {
+        const replay: NotificationReplay = JSON.parse(message.body);
+        replay.notifications.forEach((item) => {
+          const notification = this.parseNotification(JSON.stringify(item));
+          if (notification && this.notificationCallback) {
+            this.notificationCallback(notification);
+          }
+        });
+        this.rememberSeq(replay.lastSeq);
+        if (replay.hasMore) {
+          console.warn('[WebSocket] Notification replay truncated; some notifications were skipped');
+        }
+      } catch (error) {
+        console.error('[WebSocket] Failed to parse notification replay:', error);
+      }
+    });
+
     // Subscribe to connection confirmation
     this.client.subscribe('/user/queue/connected', (message: IMessage) => {
       console.log('[WebSocket] Connection confirmed:', message.body);
@@ -106,6 +142,7 @@ class WebSocketService {
   private parseNotification(body: string): Notification | null {
     try {
       const data = JSON.parse(body);
+      this.rememberSeq(data.seq);
       return {
         id: crypto.randomUUID(),
         type: data.type,
@@ -126,6 +163,14 @@ class WebSocketService {
     }
   }
 
+  private rememberSeq(seq: number | undefined): void {
+    if (typeof seq !== 'number') return;
+    const current = Number(localStorage.getItem(LAST_SEQ_KEY) ?? 0);
+    if (seq > current) {
+      localStorage.setItem(LAST_SEQ_KEY, String(seq));
+    }
+  }
+
   subscribeToProject(projectId: number, callback: ProjectEventCallback): void {
     if (!this.client?.connected) {
       console.warn('[WebSocket] Cannot subscribe to project - not connected');
@@ -189,6 +234,8 @@ class WebSocketService {
     this.notificationCallback = null;
     this.isConnecting = false;
     this.reconnectAttempts = 0;
+    // The cursor belongs to the signed-in user
+    localStorage.removeItem(LAST_SEQ_KEY);
   }
 
   isConnected(): boolean {
@@ -173,6 +173,7 @@ export interface Notification {
 
 export interface ProjectEvent {
   event: string;
+  // For 'TASKS_BATCH' the payload is a ProjectEvent[] with the latest event per task
   payload: unknown;
 }
 
@@ -0,0 +1,127 @@
+package com.nexilum.benchmark;
+
+import com.nexilum.entity.Badge;
+import com.nexilum.entity.Comment;
+import com.nexilum.entity.Project;
+import com.nexilum.entity.Task;
+import com.nexilum.entity.User;
+import com.nexilum.enums.TaskPriority;
+import com.nexilum.enums.TaskStatus;
+import com.nexilum.repository.projection.TaskRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidades e projecoes em memoria (sem banco) usadas pelos benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(long id) {
+        User user = User.builder()
+                .id(id)
+                .name("Usuario " + id)
+                .email("usuario" + id + "@nexilum.dev")
+                .password("{noop}secret")
+                .avatarUrl("https://cdn.nexilum.dev/avatars/" + id + ".png")
+                .totalPoints(742)
+                .level(4)
+                .levelName("Especialista")
+                .currentStreak(6)
+                .longestStreak(21)
+                .tasksCompleted(58)
+                .build();
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(CREATED_AT);
+        return user;
+    }
+
+    public static Project project(long id, User owner, int members) {
+        Project project = Project.builder()
+                .id(id)
+                .name("Projeto " + id)
+                .description("Projeto de referencia para benchmarks")
+                .icon("rocket")
+                .color("#4285F4")
+                .owner(owner)
+                .build();
+        for (int i = 0; i < members; i++) {
+            project.getMembers().add(user(1_000 + i));
+        }
+        project.setCreatedAt(CREATED_AT);
+        project.setUpdatedAt(CREATED_AT);
+        return project;
+    }
+
+    public static Task task(long id, Project project, User assignee, User reporter) {
+        Task task = Task.builder()
+                .id(id)
+                .title("Tarefa " + id)
+                .description("Descricao da tarefa " + id + ", com \"aspas\", virgulas e acentuacao: e, a, c")
+                .status(TaskStatus.DOING)
+                .priority(TaskPriority.HIGH)
+                .deadline(LocalDate.of(2025, 2, 1))
+                .pointsAwarded(30)
+                .commentCount(4)
+                .project(project)
+                .assignee(assignee)
+                .reporter(reporter)
+                .build();
+        task.setCreatedAt(CREATED_AT);
+        task.setUpdatedAt(CREATED_AT);
+        return task;
+    }
+
+    public static Comment comment(long id, Task task, User author) {
+        Comment comment = Comment.builder()
+                .id(id)
+                .content("Comentario " + id + " sobre a tarefa")
+                .task(task)
+                .author(author)
+                .build();
+        comment.setCreatedAt(CREATED_AT);
+        comment.setUpdatedAt(CREATED_AT);
+        return comment;
+    }
+
+    public static Badge badge(long id) {
+        return Badge.builder()
+                .id(id)
+                .code("BADGE_" + id)
+                .name("Badge " + id)
+                .description("Conquista de referencia")
+                .icon("star")
+                .requiredCount(10)
+                .criteriaType("TASKS_COMPLETED")
+                .build();
+    }
+
+    public static TaskRow taskRow(long id) {
+        return new TaskRow(
+                id,
+                "Tarefa " + id,
+                "Descricao da tarefa " + id + ", com \"aspas\", virgulas e\nquebra de linha",
+                id % 3 == 0 ? TaskStatus.DONE : TaskStatus.DOING,
+                TaskPriority.values()[(int) (id % TaskPriority.values().length)],
+                LocalDate.of(2025, 2, 1),
+                id % 3 == 0 ? CREATED_AT.plusDays(3) : null,
+                30,
+                1L,
+                "Projeto 1",
+                id % 5 == 0 ? null : 2L,
+                id % 5 == 0 ? null : "Responsavel",
+                null,
+                3L,
+                "Relator",
+                null,
+                4,
+                CREATED_AT,
+                CREATED_AT
+        );
+    }
+}
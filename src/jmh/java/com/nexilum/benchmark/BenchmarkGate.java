@@ -0,0 +1,103 @@
+package com.nexilum.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara o resultado JMH (JSON) com o baseline versionado e falha se algum benchmark piorou
+ * alem da tolerancia, descontadas as margens de erro do JMH das duas medicoes.
+ * Uso: BenchmarkGate &lt;resultado.json&gt; &lt;baseline.json&gt;
+ * Propriedades: benchmark.tolerance (padrao 0.10), benchmark.update-baseline, benchmark.require-baseline.
+ */
+public final class BenchmarkGate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkGate <results.json> <baseline.json>");
+            System.exit(2);
+        }
+        Path results = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.10"));
+
+        if (Boolean.getBoolean("benchmark.update-baseline")) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline + " (commit it to enable the gate)");
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; record one on the reference machine with "
+                    + "-Dbenchmark.update-baseline=true and commit it");
+            System.exit(Boolean.getBoolean("benchmark.require-baseline") ? 1 : 0);
+        }
+
+        Map<String, Score> expected = read(baseline);
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : read(results).entrySet()) {
+            Score base = expected.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("NEW   %s %s%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            Score current = entry.getValue();
+            double change = current.higherIsBetter()
+                    ? (current.value() - base.value()) / base.value()
+                    : (base.value() - current.value()) / base.value();
+            // Only the part of the slowdown left after both JMH error margins counts against the tolerance
+            double worse = (-change * base.value() - current.error() - base.error()) / base.value();
+            boolean regressed = worse > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-5s %s %s -> %s (%+.1f%%)%n",
+                    regressed ? "FAIL" : "OK", entry.getKey(), base, current, change * 100);
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed more than %.0f%% beyond the error margins against %s%n",
+                    regressions, tolerance * 100, baseline);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+            String mode = run.path("mode").asText();
+            key.append(" [").append(mode).append(']');
+
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private record Score(double value, double error, String unit, boolean higherIsBetter) {
+
+        @Override
+        public String toString() {
+            return String.format("%.3f ± %.3f %s", value, error, unit);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.nexilum.dto.response;
+
+import com.nexilum.benchmark.BenchmarkFixtures;
+import com.nexilum.entity.Badge;
+import com.nexilum.entity.Comment;
+import com.nexilum.entity.Project;
+import com.nexilum.entity.Task;
+import com.nexilum.entity.User;
+import com.nexilum.repository.projection.TaskRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversao entidade/projecao -> DTO nas listagens (TaskResponse, ProjectResponse, etc.).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+
+    private User user;
+    private Project project;
+    private Task task;
+    private TaskRow taskRow;
+    private Comment comment;
+    private Badge badge;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1);
+        project = BenchmarkFixtures.project(1, user, 8);
+        task = BenchmarkFixtures.task(1, project, BenchmarkFixtures.user(2), user);
+        taskRow = BenchmarkFixtures.taskRow(1);
+        comment = BenchmarkFixtures.comment(1, task, user);
+        badge = BenchmarkFixtures.badge(1);
+    }
+
+    @Benchmark
+    public TaskResponse taskFromEntity() {
+        return TaskResponse.fromEntity(task);
+    }
+
+    @Benchmark
+    public TaskResponse taskFromRow() {
+        return TaskResponse.fromRow(taskRow);
+    }
+
+    @Benchmark
+    public ProjectResponse projectFromEntity() {
+        return ProjectResponse.fromEntity(project);
+    }
+
+    @Benchmark
+    public UserResponse userFromEntity() {
+        return UserResponse.fromEntity(user);
+    }
+
+    @Benchmark
+    public CommentResponse commentFromEntity() {
+        return CommentResponse.fromEntity(comment);
+    }
+
+    @Benchmark
+    public BadgeResponse badgeFromEntity() {
+        return BadgeResponse.fromEntity(badge);
+    }
+}
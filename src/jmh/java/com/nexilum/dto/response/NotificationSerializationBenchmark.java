@@ -0,0 +1,71 @@
+package com.nexilum.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializacao JSON das notificacoes enviadas por WebSocket (unitaria e replay).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class NotificationSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private NotificationResponse notification;
+    private NotificationReplayResponse replay;
+
+    @Setup
+    public void setUp() {
+        // Same settings as spring.jackson.* in application.yml
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        notification = NotificationResponse.taskAssigned(42L, "Revisar pull request", 7L, "Projeto 7", 3L, "Relator");
+        notification.setSeq(1_000L);
+
+        List<NotificationResponse> missed = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            NotificationResponse item = NotificationResponse.taskStatusChanged(
+                    i, "Tarefa " + i, "DONE", 7L, "Projeto 7", 3L, "Relator");
+            item.setSeq(1_000L + i);
+            missed.add(item);
+        }
+        replay = NotificationReplayResponse.builder()
+                .notifications(missed)
+                .lastSeq(1_049L)
+                .hasMore(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] notification() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] replayOf50() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(replay);
+    }
+}
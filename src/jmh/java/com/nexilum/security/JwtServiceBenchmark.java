@@ -0,0 +1,72 @@
+package com.nexilum.security;
+
+import com.nexilum.benchmark.BenchmarkFixtures;
+import com.nexilum.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geracao e validacao de JWT, com e sem o cache de tokens verificados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = jwtService(10_000);
+        // Size 0: every verify goes through signature check and claim parsing
+        uncachedService = jwtService(0);
+        user = BenchmarkFixtures.user(1);
+        token = cachedService.generateToken(user);
+        cachedService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cachedService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncachedService.isTokenValid(token, user);
+    }
+
+    private static JwtService jwtService(long cacheSize) {
+        JwtService service = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secretKey", "benchmark-only-secret-with-at-least-32-chars");
+        ReflectionTestUtils.setField(service, "jwtExpiration", Duration.ofHours(24).toMillis());
+        ReflectionTestUtils.setField(service, "refreshExpiration", Duration.ofDays(7).toMillis());
+        ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", cacheSize);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtl", Duration.ofMinutes(5));
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexilum.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolucao de nivel e calculo de progresso da gamificacao (chamados a cada pontuacao e perfil).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GamificationLevelBenchmark {
+
+    // First level, a middle level and the last (open-ended) level
+    @Param({"40", "742", "5000"})
+    private int totalPoints;
+
+    @Benchmark
+    public int levelFor() {
+        return GamificationService.levelFor(totalPoints);
+    }
+
+    @Benchmark
+    public double progressPercentage() {
+        return GamificationService.progressPercentage(totalPoints, GamificationService.levelFor(totalPoints));
+    }
+}
@@ -0,0 +1,58 @@
+package com.nexilum.service;
+
+import com.nexilum.benchmark.BenchmarkFixtures;
+import com.nexilum.repository.projection.TaskRow;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderizacao das linhas do relatorio CSV (sem banco nem I/O de resposta).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReportCsvBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private ReportService reportService;
+    private List<TaskRow> rows;
+    private CSVPrinter printer;
+
+    @Setup
+    public void setUp() throws IOException {
+        // printCsvRow touches no collaborator
+        reportService = new ReportService(null, null, null, null);
+        rows = new ArrayList<>(ROWS);
+        for (long i = 1; i <= ROWS; i++) {
+            rows.add(BenchmarkFixtures.taskRow(i));
+        }
+        printer = new CSVPrinter(Writer.nullWriter(), CSVFormat.DEFAULT);
+    }
+
+    @Benchmark
+    public void render1000Rows() throws IOException {
+        for (TaskRow row : rows) {
+            reportService.printCsvRow(printer, row);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nexilum.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Acompanha a fila de saida de cada sessao STOMP (mensagens aceitas no clientOutboundChannel
+ * e ainda nao escritas) e desconecta consumidores lentos que passam do limite,
+ * para que um cliente travado nao segure as threads de envio dos demais.
+ */
+@Slf4j
+@Component
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private final WebSocketProperties.SlowConsumer policy;
+    private final ConcurrentMap<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+    private final DistributionSummary queueDepth;
+    private final Counter evictions;
+    private final Counter droppedMessages;
+
+    public OutboundBackpressureInterceptor(WebSocketProperties properties, MeterRegistry meterRegistry) {
+        this.policy = properties.getSlowConsumer();
+        this.queueDepth = DistributionSummary.builder("websocket.session.outbound.depth")
+                .description("Outbound messages pending for a session when a new one is queued")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("websocket.session.evictions")
+                .description("Sessions closed for falling behind on outbound messages")
+                .register(meterRegistry);
+        this.droppedMessages = Counter.builder("websocket.session.outbound.dropped")
+                .description("Outbound messages discarded for evicted sessions")
+                .register(meterRegistry);
+        meterRegistry.gauge("websocket.sessions.open", sessions, ConcurrentMap::size);
+        meterRegistry.gauge("websocket.session.outbound.pending", sessions,
+                map -> map.values().stream().mapToInt(queue -> queue.pending.get()).sum());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SessionQueue queue = queueOf(message);
+        if (queue == null) {
+            return message;
+        }
+        if (queue.evicted) {
+            droppedMessages.increment();
+            return null;
+        }
+        int depth = queue.pending.incrementAndGet();
+        queueDepth.record(depth);
+        if (policy.isEvict() && depth > policy.getMaxPendingMessages()) {
+            queue.pending.decrementAndGet();
+            evict(queue, depth);
+            droppedMessages.increment();
+            return null;
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (sent && ex == null) {
+            // Handed to the executor; afterMessageHandled releases it
+            return;
+        }
+        // Rejected by the executor or vetoed by a later interceptor: never reaches the handler
+        SessionQueue queue = queueOf(message);
+        if (queue != null) {
+            queue.pending.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SessionQueue queue = queueOf(message);
+        if (queue != null) {
+            queue.pending.decrementAndGet();
+        }
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), new SessionQueue(session));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public int pendingFor(String sessionId) {
+        SessionQueue queue = sessions.get(sessionId);
+        return queue == null ? 0 : queue.pending.get();
+    }
+
+    private SessionQueue queueOf(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    private void evict(SessionQueue queue, int depth) {
+        synchronized (queue) {
+            if (queue.evicted) {
+                return;
+            }
+            queue.evicted = true;
+        }
+        evictions.increment();
+        log.warn("Evicting slow WebSocket session {} ({} outbound messages pending)", queue.session.getId(), depth);
+        try {
+            queue.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close slow session {}", queue.session.getId(), e);
+        }
+    }
+
+    private static final class SessionQueue {
+        private final WebSocketSession session;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean evicted;
+
+        private SessionQueue(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
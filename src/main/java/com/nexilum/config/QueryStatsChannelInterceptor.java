@@ -0,0 +1,65 @@
+package com.nexilum.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contagem de SQL por mensagem STOMP recebida: um escopo no envio (interceptors como a
+ * autenticacao do CONNECT) e outro no processamento (handlers @MessageMapping).
+ * Deve ser o primeiro interceptor do clientInboundChannel.
+ */
+@Component
+public class QueryStatsChannelInterceptor implements ExecutorChannelInterceptor {
+
+    private static final String APP_PREFIX = "/app/";
+
+    private final QueryStatsCollector collector;
+
+    public QueryStatsChannelInterceptor(QueryStatsCollector collector) {
+        this.collector = collector;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        collector.begin();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        collector.end(QueryStatsCollector.TRANSPORT_STOMP, handlerName(message));
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        collector.begin();
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        collector.end(QueryStatsCollector.TRANSPORT_STOMP, handlerName(message));
+    }
+
+    /**
+     * SEND to an application destination is tagged by destination (a fixed set of
+     * @MessageMapping routes); everything else by command, since topics carry ids
+     */
+    private static String handlerName(Message<?> message) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return "STOMP";
+        }
+        String destination = accessor.getDestination();
+        if (accessor.getCommand() == StompCommand.SEND && destination != null && destination.startsWith(APP_PREFIX)) {
+            return "STOMP SEND " + destination;
+        }
+        return "STOMP " + accessor.getCommand().name();
+    }
+}
@@ -0,0 +1,183 @@
+package com.nexilum.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conta queries, linhas lidas e tempo de JDBC do escopo atual (uma requisicao HTTP ou uma
+ * mensagem STOMP, na thread que a processa), publica como metricas por handler e aplica o
+ * orcamento de queries e a deteccao de N+1. Trabalho fora de um escopo (threads de fundo) nao e contado.
+ */
+@Slf4j
+@Component
+public class QueryStatsCollector implements QueryExecutionListener, MethodExecutionListener {
+
+    public static final String TRANSPORT_HTTP = "http";
+    public static final String TRANSPORT_STOMP = "stomp";
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    // Distinct statements tracked per scope for N+1 detection
+    private static final int MAX_TRACKED_STATEMENTS = 256;
+    private static final int MAX_VIOLATIONS = 100;
+
+    private final QueryStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+
+    public QueryStatsCollector(QueryStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Abre (ou reentra) o escopo da thread atual; cada begin deve ter o seu end
+     */
+    public void begin() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            CURRENT.set(new Scope());
+        } else {
+            scope.depth++;
+        }
+    }
+
+    /**
+     * Fecha o escopo; no ultimo end registra as metricas e verifica o orcamento
+     */
+    public void end(String transport, String handler) {
+        Scope scope = CURRENT.get();
+        if (scope == null || --scope.depth > 0) {
+            return;
+        }
+        CURRENT.remove();
+        record(scope, transport, handler);
+    }
+
+    /**
+     * Retorna e limpa as violacoes guardadas no modo fail
+     */
+    public List<String> drainViolations() {
+        List<String> drained = new ArrayList<>();
+        String violation;
+        while ((violation = violations.poll()) != null) {
+            drained.add(violation);
+        }
+        return drained;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.queryStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        // One round trip, even for a batch
+        scope.queries++;
+        scope.jdbcNanos += System.nanoTime() - scope.queryStart;
+        if (!queryInfoList.isEmpty()) {
+            String sql = queryInfoList.get(0).getQuery();
+            if (scope.statements.size() < MAX_TRACKED_STATEMENTS || scope.statements.containsKey(sql)) {
+                scope.statements.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Scope scope = CURRENT.get();
+        if (scope != null
+                && executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            scope.rows++;
+        }
+    }
+
+    private void record(Scope scope, String transport, String handler) {
+        DistributionSummary.builder("db.queries")
+                .description("SQL statements executed per request or STOMP message")
+                .tags("transport", transport, "handler", handler)
+                .register(meterRegistry)
+                .record(scope.queries);
+        DistributionSummary.builder("db.rows")
+                .description("Rows read from result sets per request or STOMP message")
+                .tags("transport", transport, "handler", handler)
+                .register(meterRegistry)
+                .record(scope.rows);
+        Timer.builder("db.jdbc.time")
+                .description("Time spent executing SQL per request or STOMP message")
+                .tags("transport", transport, "handler", handler)
+                .register(meterRegistry)
+                .record(scope.jdbcNanos, TimeUnit.NANOSECONDS);
+
+        int budget = properties.budgetFor(handler);
+        if (budget > 0 && scope.queries > budget) {
+            Counter.builder("db.query.budget.exceeded")
+                    .tags("transport", transport, "handler", handler)
+                    .register(meterRegistry)
+                    .increment();
+            violation(String.format("%s exceeded its query budget: %d queries (budget %d, %d rows, %d ms JDBC)",
+                    handler, scope.queries, budget, scope.rows, TimeUnit.NANOSECONDS.toMillis(scope.jdbcNanos)));
+        }
+
+        int threshold = properties.getRepeatedStatementThreshold();
+        if (threshold > 0) {
+            scope.statements.forEach((sql, count) -> {
+                if (count >= threshold) {
+                    Counter.builder("db.query.repeated")
+                            .description("Statements executed repeatedly in one scope (likely N+1)")
+                            .tags("transport", transport, "handler", handler)
+                            .register(meterRegistry)
+                            .increment();
+                    violation(String.format("Possible N+1 in %s: %dx %s", handler, count, sql));
+                }
+            });
+        }
+    }
+
+    private void violation(String message) {
+        log.warn(message);
+        if (properties.getOnExceeded() == QueryStatsProperties.OnExceeded.FAIL && violations.size() < MAX_VIOLATIONS) {
+            violations.add(message);
+        }
+    }
+
+    private static final class Scope {
+        private int depth = 1;
+        private int queries;
+        private long rows;
+        private long jdbcNanos;
+        private long queryStart;
+        private final Map<String, Integer> statements = new HashMap<>();
+    }
+}
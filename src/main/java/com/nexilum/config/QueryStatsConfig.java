@@ -0,0 +1,108 @@
+package com.nexilum.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Liga a contagem de SQL: envolve o DataSource com datasource-proxy e registra o filtro
+ * HTTP antes da cadeia do Spring Security.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryStatsProperties.class)
+public class QueryStatsConfig {
+
+    // Static so that post-processing the DataSource doesn't instantiate this configuration early
+    @Bean
+    static BeanPostProcessor queryStatsDataSourcePostProcessor(
+            Environment environment,
+            ObjectProvider<QueryStatsCollector> collector
+    ) {
+        boolean enabled = environment.getProperty("query-stats.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                // Resolved on first use: the collector needs the MeterRegistry, which may need the DataSource
+                LazyCollector listener = new LazyCollector(collector);
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsCollector collector) {
+        FilterRegistrationBean<QueryStatsFilter> registration = new FilterRegistrationBean<>(new QueryStatsFilter(collector));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static final class LazyCollector implements QueryExecutionListener, MethodExecutionListener {
+
+        private final ObjectProvider<QueryStatsCollector> provider;
+        private volatile QueryStatsCollector collector;
+
+        private LazyCollector(ObjectProvider<QueryStatsCollector> provider) {
+            this.provider = provider;
+        }
+
+        private QueryStatsCollector collector() {
+            QueryStatsCollector resolved = collector;
+            if (resolved == null) {
+                resolved = provider.getIfAvailable();
+                collector = resolved;
+            }
+            return resolved;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            QueryStatsCollector target = collector();
+            if (target != null) {
+                target.beforeQuery(execInfo, queryInfoList);
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            QueryStatsCollector target = collector();
+            if (target != null) {
+                target.afterQuery(execInfo, queryInfoList);
+            }
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            QueryStatsCollector target = collector();
+            if (target != null) {
+                target.afterMethod(executionContext);
+            }
+        }
+    }
+}
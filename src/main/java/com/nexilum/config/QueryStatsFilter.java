@@ -0,0 +1,49 @@
+package com.nexilum.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre um escopo de contagem de SQL por requisicao HTTP, antes da cadeia de seguranca
+ * (a carga do usuario autenticado tambem conta), e o fecha com a tag "Controller.metodo".
+ * Trabalho de requisicoes assincronas depois do retorno da thread original nao entra na conta.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final QueryStatsCollector collector;
+
+    public QueryStatsFilter(QueryStatsCollector collector) {
+        this.collector = collector;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        collector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            collector.end(QueryStatsCollector.TRANSPORT_HTTP, handlerName(request));
+        }
+    }
+
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        // Rejected by security or not mapped: keep the tag cardinality bounded
+        return "none";
+    }
+}
@@ -0,0 +1,52 @@
+package com.nexilum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contagem de SQL por requisicao HTTP / mensagem STOMP (query-stats.*): orcamento de queries
+ * por handler e deteccao de N+1 (mesma instrucao repetida varias vezes no mesmo escopo).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "query-stats")
+public class QueryStatsProperties {
+
+    /**
+     * Envolve o DataSource com o proxy de contagem
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximo de queries por requisicao quando o handler nao tem orcamento proprio (0 = sem limite)
+     */
+    private int defaultBudget = 30;
+
+    /**
+     * Orcamentos por handler, chave "Controller.metodo" (ex.: TaskController.findByProject)
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    /**
+     * Quantas execucoes da mesma instrucao no mesmo escopo indicam um provavel N+1 (0 = desligado)
+     */
+    private int repeatedStatementThreshold = 5;
+
+    /**
+     * log: apenas registra; fail: tambem guarda a violacao para os testes falharem
+     */
+    private OnExceeded onExceeded = OnExceeded.LOG;
+
+    public enum OnExceeded {
+        LOG,
+        FAIL
+    }
+
+    public int budgetFor(String handler) {
+        return budgets.getOrDefault(handler, defaultBudget);
+    }
+}
@@ -2,6 +2,8 @@ package com.nexilum.config;
 
 import com.nexilum.repository.UserRepository;
 import com.nexilum.security.JwtAuthenticationFilter;
+import com.nexilum.security.UserPrincipalCache;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -36,11 +38,14 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
     private final Environment environment;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserRepository userRepository, Environment environment) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserRepository userRepository,
+                          UserPrincipalCache userPrincipalCache, Environment environment) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
         this.environment = environment;
     }
 
@@ -87,14 +92,16 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        // Resolves JWT subjects (HTTP filter and STOMP CONNECT) through the principal cache
+        return userPrincipalCache::getByEmail;
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        // Login always checks the stored password, bypassing the cache
+        authProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username)));
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
     }
@@ -120,9 +127,12 @@ public class SecurityConfig {
             AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth,
             String[] swaggerEndpoints
     ) {
+        // Async dispatches (streamed downloads) were already authorized on the original request
+        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
         auth.requestMatchers("/auth/**").permitAll();
         auth.requestMatchers("/ws/**").permitAll();
         auth.requestMatchers("/actuator/health").permitAll();
+        auth.requestMatchers("/actuator/prometheus").hasRole("ADMIN");
         if (swaggerEndpoints.length > 0) {
             auth.requestMatchers(swaggerEndpoints).permitAll();
         }
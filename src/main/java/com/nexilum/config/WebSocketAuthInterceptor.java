@@ -1,6 +1,8 @@
 package com.nexilum.config;
 
 import com.nexilum.security.JwtService;
+import com.nexilum.security.VerifiedToken;
+import com.nexilum.service.NotificationInbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -37,12 +39,13 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             String token = authHeader.substring(7);
 
             try {
-                String username = jwtService.extractUsername(token);
+                VerifiedToken verified = jwtService.verify(token);
+                String username = verified.subject();
 
                 if (username != null) {
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                    if (jwtService.isTokenValid(token, userDetails)) {
+                    if (jwtService.isTokenValid(verified, userDetails)) {
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails,
@@ -52,6 +55,7 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         accessor.setUser(authentication);
+                        rememberReplayCursor(accessor);
                         log.debug("WebSocket authenticated for user: {}", username);
                         return message;
                     }
@@ -64,4 +68,19 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
         return message;
     }
+
+    /**
+     * Guarda o cursor "since" do CONNECT para o replay da caixa de notificacoes
+     */
+    private void rememberReplayCursor(StompHeaderAccessor accessor) {
+        String since = accessor.getFirstNativeHeader(NotificationInbox.SINCE_HEADER);
+        if (since == null || accessor.getSessionAttributes() == null) {
+            return;
+        }
+        try {
+            accessor.getSessionAttributes().put(NotificationInbox.SINCE_ATTRIBUTE, Long.parseLong(since.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid since header: {}", since);
+        }
+    }
 }
@@ -1,24 +1,32 @@
 package com.nexilum.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@EnableConfigurationProperties(WebSocketProperties.class)
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
     private final Environment environment;
+    private final WebSocketProperties properties;
+    private final OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+    private final QueryStatsChannelInterceptor queryStatsChannelInterceptor;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -48,8 +56,47 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        // Adiciona interceptor de autenticacao JWT
-        registration.interceptors(webSocketAuthInterceptor);
+        // Contagem de SQL primeiro, para incluir a autenticacao JWT do CONNECT
+        registration.interceptors(queryStatsChannelInterceptor, webSocketAuthInterceptor);
+        applyPool(registration, properties.getInbound(), "clientInboundChannel-");
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Mede a fila de saida por sessao e desconecta consumidores lentos
+        registration.interceptors(outboundBackpressureInterceptor);
+        applyPool(registration, properties.getOutbound(), "clientOutboundChannel-");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = properties.getTransport();
+        registration.setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .addDecoratorFactory(outboundBackpressureInterceptor);
+    }
+
+    private void applyPool(ChannelRegistration registration, WebSocketProperties.Pool pool, String threadNamePrefix) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            registration.taskExecutor()
+                    .corePoolSize(pool.getCorePoolSize())
+                    .maxPoolSize(pool.getMaxPoolSize())
+                    .queueCapacity(pool.getQueueCapacity())
+                    .keepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+            return;
+        }
+
+        // Same bounds, but the workers are virtual threads, so a handler blocked on JDBC
+        // no longer holds an OS thread (the pool can be sized far above the core count)
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        registration.taskExecutor(executor);
     }
 
     private String[] resolveAllowedOrigins() {
@@ -0,0 +1,72 @@
+package com.nexilum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Ajustes do broker STOMP (websocket.broker.*): modo de fan-out, pools dos canais,
+ * limites de transporte e politica de consumidores lentos.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "websocket.broker")
+public class WebSocketProperties {
+
+    /**
+     * simple: broker em memoria, apenas este no; postgres: fan-out entre nos via LISTEN/NOTIFY
+     */
+    private Mode mode = Mode.SIMPLE;
+
+    private final Pool inbound = new Pool();
+    private final Pool outbound = new Pool();
+    private final Transport transport = new Transport();
+    private final SlowConsumer slowConsumer = new SlowConsumer();
+    private final Postgres postgres = new Postgres();
+
+    public enum Mode {
+        SIMPLE,
+        POSTGRES
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+        private int queueCapacity = 10_000;
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+        // A session whose pending writes exceed either limit is closed by Spring
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+    }
+
+    @Getter
+    @Setter
+    public static class SlowConsumer {
+        private boolean evict = true;
+        // Messages queued on the outbound channel for one session before it is evicted
+        private int maxPendingMessages = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Postgres {
+        private String channel = "nexilum_ws";
+        // Cache invalidations relayed between nodes (see PostgresClusterEvents)
+        private String eventsChannel = "nexilum_events";
+        // How long the listener blocks waiting for notifications before re-checking shutdown
+        private Duration pollTimeout = Duration.ofMillis(500);
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+        private Duration payloadRetention = Duration.ofMinutes(5);
+    }
+}
@@ -7,9 +7,13 @@ import com.nexilum.service.GamificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,6 +26,9 @@ public class GamificationController {
     private final GamificationService gamificationService;
     private final BadgeService badgeService;
 
+    // Clients may keep heatmaps but must revalidate them (Spring Security defaults to no-store)
+    private static final CacheControl HEATMAP_CACHE = CacheControl.noCache().cachePrivate();
+
     @GetMapping("/profile")
     @Operation(summary = "Perfil de gamificacao", description = "Retorna o perfil completo de gamificacao do usuario autenticado")
     public ResponseEntity<ApiResponse<GamificationProfileResponse>> getMyProfile(
@@ -82,17 +89,102 @@ public class GamificationController {
     @Operation(summary = "Meu heatmap", description = "Retorna o heatmap de atividades do usuario autenticado (estilo GitHub)")
     public ResponseEntity<ApiResponse<HeatmapResponse>> getMyHeatmap(
             @AuthenticationPrincipal User user,
-            @RequestParam(defaultValue = "365") int days) {
-        HeatmapResponse heatmap = gamificationService.getActivityHeatmap(user.getId(), days);
-        return ResponseEntity.ok(ApiResponse.success(heatmap, "Heatmap de atividades"));
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return heatmap(user.getId(), days, request);
     }
 
     @GetMapping("/heatmap/{userId}")
     @Operation(summary = "Heatmap de usuario", description = "Retorna o heatmap de atividades de um usuario especifico")
     public ResponseEntity<ApiResponse<HeatmapResponse>> getUserHeatmap(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "365") int days) {
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return heatmap(userId, days, request);
+    }
+
+    @GetMapping("/heatmap/compact")
+    @Operation(summary = "Meu heatmap compacto", description = "Data inicial + contagens diarias; envie Accept: application/octet-stream para o formato binario")
+    public ResponseEntity<ApiResponse<CompactHeatmapResponse>> getMyCompactHeatmap(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return compactHeatmap(user.getId(), days, request);
+    }
+
+    @GetMapping(value = "/heatmap/compact", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getMyBinaryHeatmap(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return binaryHeatmap(user.getId(), days, request);
+    }
+
+    @GetMapping("/heatmap/{userId}/compact")
+    @Operation(summary = "Heatmap compacto de usuario", description = "Data inicial + contagens diarias; envie Accept: application/octet-stream para o formato binario")
+    public ResponseEntity<ApiResponse<CompactHeatmapResponse>> getUserCompactHeatmap(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return compactHeatmap(userId, days, request);
+    }
+
+    @GetMapping(value = "/heatmap/{userId}/compact", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getUserBinaryHeatmap(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "365") int days,
+            WebRequest request) {
+        return binaryHeatmap(userId, days, request);
+    }
+
+    /**
+     * O envelope ApiResponse traz timestamp proprio, entao o corpo JSON so e equivalente, nao identico
+     */
+    private static String weak(String etag) {
+        return "W/" + etag;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(HEATMAP_CACHE)
+                .build();
+    }
+
+    private ResponseEntity<ApiResponse<HeatmapResponse>> heatmap(Long userId, int days, WebRequest request) {
+        String etag = weak(gamificationService.getHeatmapETag(userId, days, "json"));
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
         HeatmapResponse heatmap = gamificationService.getActivityHeatmap(userId, days);
-        return ResponseEntity.ok(ApiResponse.success(heatmap, "Heatmap de atividades"));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(HEATMAP_CACHE)
+                .body(ApiResponse.success(heatmap, "Heatmap de atividades"));
+    }
+
+    private ResponseEntity<ApiResponse<CompactHeatmapResponse>> compactHeatmap(Long userId, int days, WebRequest request) {
+        String etag = weak(gamificationService.getHeatmapETag(userId, days, "compact"));
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        CompactHeatmapResponse heatmap = gamificationService.getCompactHeatmap(userId, days);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(HEATMAP_CACHE)
+                .body(ApiResponse.success(heatmap, "Heatmap de atividades"));
+    }
+
+    private ResponseEntity<byte[]> binaryHeatmap(Long userId, int days, WebRequest request) {
+        String etag = gamificationService.getHeatmapETag(userId, days, "varint");
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        CompactHeatmapResponse heatmap = gamificationService.getCompactHeatmap(userId, days);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(HEATMAP_CACHE)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(heatmap.toVarintBytes());
     }
 }
@@ -1,16 +1,27 @@
 package com.nexilum.controller;
 
+import com.nexilum.dto.response.ApiResponse;
+import com.nexilum.dto.response.ReportJobResponse;
 import com.nexilum.entity.User;
+import com.nexilum.enums.ReportFormat;
+import com.nexilum.service.ReportJob;
+import com.nexilum.service.ReportJobService;
 import com.nexilum.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -21,39 +32,81 @@ import java.time.format.DateTimeFormatter;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/project/{projectId}/pdf")
     @Operation(summary = "Exportar relatorio do projeto em PDF")
-    public ResponseEntity<byte[]> exportProjectPdf(
+    public ResponseEntity<StreamingResponseBody> exportProjectPdf(
             @PathVariable Long projectId,
             @AuthenticationPrincipal User currentUser) {
 
-        byte[] pdfContent = reportService.generateProjectReportPdf(projectId, currentUser);
+        reportService.validateAccess(projectId, currentUser);
 
         String filename = generateFilename("projeto_" + projectId + "_relatorio", "pdf");
+        StreamingResponseBody body = out -> reportService.writeProjectReportPdf(projectId, out);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdfContent.length)
-                .body(pdfContent);
+                .body(body);
     }
 
     @GetMapping("/project/{projectId}/csv")
     @Operation(summary = "Exportar tarefas do projeto em CSV")
-    public ResponseEntity<byte[]> exportProjectCsv(
+    public ResponseEntity<StreamingResponseBody> exportProjectCsv(
             @PathVariable Long projectId,
             @AuthenticationPrincipal User currentUser) {
 
-        byte[] csvContent = reportService.generateProjectReportCsv(projectId, currentUser);
+        // Validate up front so access errors still produce a regular error response
+        reportService.validateAccess(projectId, currentUser);
 
         String filename = generateFilename("projeto_" + projectId + "_tarefas", "csv");
+        StreamingResponseBody body = out -> reportService.writeProjectReportCsv(projectId, out);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(new MediaType("text", "csv"))
-                .contentLength(csvContent.length)
-                .body(csvContent);
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    @PostMapping("/project/{projectId}/jobs")
+    @Operation(summary = "Solicitar geracao assincrona de relatorio")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "PDF") ReportFormat format,
+            @AuthenticationPrincipal User currentUser) {
+
+        ReportJob job = reportJobService.submit(projectId, format, currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(ReportJobResponse.fromJob(job), "Relatorio solicitado"));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Consultar status de um relatorio solicitado")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal User currentUser) {
+
+        ReportJob job = reportJobService.getJob(jobId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(ReportJobResponse.fromJob(job)));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(summary = "Baixar relatorio gerado")
+    public ResponseEntity<Resource> downloadJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal User currentUser) {
+
+        ReportJob job = reportJobService.getJob(jobId, currentUser);
+        Path artifact = reportJobService.getArtifact(jobId, currentUser);
+
+        String suffix = job.getFormat() == ReportFormat.PDF ? "_relatorio" : "_tarefas";
+        String filename = generateFilename("projeto_" + job.getProjectId() + suffix, job.getFormat().getExtension());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .body(new FileSystemResource(artifact));
     }
 
     private String generateFilename(String prefix, String extension) {
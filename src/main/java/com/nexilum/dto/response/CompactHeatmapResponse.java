@@ -0,0 +1,60 @@
+package com.nexilum.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+
+/**
+ * Heatmap compacto: data inicial + contagem por dia (counts[i] = startDate + i dias).
+ * Tambem pode ser serializado em binario (varints) via toVarintBytes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactHeatmapResponse {
+
+    public static final int BINARY_VERSION = 1;
+
+    private Long userId;
+    private String userName;
+    private LocalDate startDate;
+    private int[] counts;
+    private Integer totalActivities;
+    private Integer currentStreak;
+    private Integer longestStreak;
+
+    /**
+     * Formato binario: versao, userId, startDate (epoch day), quantidade de dias,
+     * uma contagem por dia, totalActivities, currentStreak, longestStreak.
+     * Todos os campos sao varints sem sinal (7 bits por byte, bit alto = continua).
+     */
+    public byte[] toVarintBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(counts.length + 16);
+        writeVarint(out, BINARY_VERSION);
+        writeVarint(out, userId);
+        writeVarint(out, startDate.toEpochDay());
+        writeVarint(out, counts.length);
+        for (int count : counts) {
+            writeVarint(out, count);
+        }
+        writeVarint(out, totalActivities);
+        writeVarint(out, currentStreak);
+        writeVarint(out, longestStreak);
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        // Negative values never occur here; clamp instead of emitting 10-byte varints
+        long remaining = Math.max(value, 0);
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+}
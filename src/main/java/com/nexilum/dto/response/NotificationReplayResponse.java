@@ -0,0 +1,23 @@
+package com.nexilum.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Notificacoes perdidas desde o cursor informado no CONNECT, enviadas num unico frame.
+ * hasMore indica que o limite foi atingido e o cliente deve recarregar os dados por completo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReplayResponse {
+
+    private List<NotificationResponse> notifications;
+    private Long lastSeq;
+    private Boolean hasMore;
+}
@@ -24,6 +24,8 @@ public class NotificationResponse {
         PROJECT_UPDATED
     }
 
+    // Inbox sequence id; clients send the last one they saw as the "since" CONNECT header
+    private Long seq;
     private NotificationType type;
     private String title;
     private String message;
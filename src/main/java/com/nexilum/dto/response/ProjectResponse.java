@@ -1,6 +1,7 @@
 package com.nexilum.dto.response;
 
 import com.nexilum.entity.Project;
+import com.nexilum.repository.projection.ProjectStats;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,6 +28,10 @@ public class ProjectResponse {
     private LocalDateTime updatedAt;
 
     public static ProjectResponse fromEntity(Project project) {
+        return fromEntity(project, project.getMembers().size());
+    }
+
+    public static ProjectResponse fromEntity(Project project, int memberCount) {
         return ProjectResponse.builder()
                 .id(project.getId())
                 .name(project.getName())
@@ -34,7 +39,7 @@ public class ProjectResponse {
                 .icon(project.getIcon())
                 .color(project.getColor())
                 .owner(UserSummary.fromUser(project.getOwner()))
-                .memberCount(project.getMembers().size())
+                .memberCount(memberCount)
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
                 .build();
@@ -47,6 +52,13 @@ public class ProjectResponse {
         return response;
     }
 
+    public static ProjectResponse fromEntityWithStats(Project project, ProjectStats stats) {
+        ProjectResponse response = fromEntity(project, stats.memberCount().intValue());
+        response.setTaskCount(stats.taskCount());
+        response.setCompletedTaskCount(stats.completedTaskCount());
+        return response;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,38 @@
+package com.nexilum.dto.response;
+
+import com.nexilum.enums.ReportFormat;
+import com.nexilum.enums.ReportJobStatus;
+import com.nexilum.service.ReportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+
+    private String jobId;
+    private Long projectId;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public static ReportJobResponse fromJob(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .projectId(job.getProjectId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
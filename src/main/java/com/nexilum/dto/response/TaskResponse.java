@@ -3,6 +3,7 @@ package com.nexilum.dto.response;
 import com.nexilum.entity.Task;
 import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.repository.projection.TaskRow;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -51,12 +52,35 @@ public class TaskResponse {
                 .projectName(task.getProject().getName())
                 .assignee(task.getAssignee() != null ? UserSummary.fromUser(task.getAssignee()) : null)
                 .reporter(UserSummary.fromUser(task.getReporter()))
-                .commentCount(task.getComments().size())
+                .commentCount(task.getCommentCount())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
     }
 
+    public static TaskResponse fromRow(TaskRow row) {
+        return TaskResponse.builder()
+                .id(row.id())
+                .title(row.title())
+                .description(row.description())
+                .status(row.status())
+                .priority(row.priority())
+                .deadline(row.deadline())
+                .isOverdue(row.isOverdue())
+                .completedAt(row.completedAt())
+                .pointsAwarded(row.pointsAwarded())
+                .projectId(row.projectId())
+                .projectName(row.projectName())
+                .assignee(row.assigneeId() != null
+                        ? new UserSummary(row.assigneeId(), row.assigneeName(), row.assigneeAvatarUrl())
+                        : null)
+                .reporter(new UserSummary(row.reporterId(), row.reporterName(), row.reporterAvatarUrl()))
+                .commentCount(row.commentCount())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -19,8 +19,10 @@ import java.time.LocalDateTime;
 @Builder
 public class ActivityLog {
 
+    // Sequence ids (pooled) let Hibernate batch the inserts from ActivityLogWriter
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_logs_seq")
+    @SequenceGenerator(name = "activity_logs_seq", sequenceName = "activity_logs_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,25 @@
+package com.nexilum.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de migracao de dados ja aplicada (backfills que so devem rodar uma vez).
+ */
+@Entity
+@Table(name = "data_migrations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigration {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,33 @@
+package com.nexilum.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Corpo de mensagem STOMP grande demais para o payload do NOTIFY (limite de 8000 bytes).
+ * Os nos recebem so o id pelo canal e leem o corpo daqui; linhas antigas sao apagadas.
+ */
+@Entity
+@Table(name = "ws_fanout_payloads", indexes = {
+    @Index(name = "idx_ws_fanout_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FanOutPayload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
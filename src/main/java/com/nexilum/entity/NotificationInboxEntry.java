@@ -0,0 +1,44 @@
+package com.nexilum.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entrada da caixa de notificacoes de um usuario (append-only, podada por retencao).
+ */
+@Entity
+@Table(name = "notification_inbox", indexes = {
+    @Index(name = "idx_inbox_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxEntry {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "notification_id", nullable = false)
+        private Long notificationId;
+    }
+}
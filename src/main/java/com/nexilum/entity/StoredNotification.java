@@ -0,0 +1,38 @@
+package com.nexilum.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificacao persistida (payload JSON gravado uma vez, mesmo com varios destinatarios).
+ * O id e o cursor de sequencia usado pelos clientes para recuperar o que perderam.
+ */
+@Entity
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredNotification {
+
+    // allocationSize 1 keeps ids increasing in allocation order across nodes
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
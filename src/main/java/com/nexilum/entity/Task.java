@@ -4,6 +4,7 @@ import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -49,6 +50,12 @@ public class Task extends BaseEntity {
     @Builder.Default
     private Integer pointsAwarded = 0;
 
+    // Maintained by TaskRepository.adjustCommentCount; never written on entity updates
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer commentCount = 0;
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
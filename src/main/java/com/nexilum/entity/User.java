@@ -3,6 +3,7 @@ package com.nexilum.entity;
 import com.nexilum.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,6 +13,8 @@ import java.util.*;
 
 @Entity
 @Table(name = "users")
+// Only changed columns are written: a profile update must not write back stale points or streaks
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,55 @@
+package com.nexilum.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Agregado diario do activity log por usuario (fonte do heatmap).
+ * Mantido de forma incremental pelo ActivityLogWriter.
+ */
+@Entity
+@Table(name = "user_daily_activity")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDailyActivity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "activity_count", nullable = false)
+    @Builder.Default
+    private Integer count = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer points = 0;
+
+    // Bumped by every upsert; feeds the heatmap ETag
+    @Column(name = "updated_at", nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(nullable = false)
+        private LocalDate day;
+    }
+}
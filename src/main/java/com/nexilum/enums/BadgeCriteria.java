@@ -0,0 +1,42 @@
+package com.nexilum.enums;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Criterios de badge (Badge.criteriaType) e as acoes que podem fazer o contador de cada um crescer.
+ */
+public enum BadgeCriteria {
+    TASKS_COMPLETED(ActionType.TASK_COMPLETED),
+    STREAK_DAYS(ActionType.TASK_CREATED, ActionType.TASK_COMPLETED, ActionType.COMMENT_ADDED),
+    COMMENTS_MADE(ActionType.COMMENT_ADDED),
+    TASKS_IN_DAY(ActionType.TASK_COMPLETED),
+    EARLY_COMPLETIONS(ActionType.TASK_COMPLETED),
+    PROJECTS_JOINED(ActionType.PROJECT_CREATED, ActionType.PROJECT_MEMBER_ADDED),
+    // Driven by ranking leader changes, not by user actions
+    TOP_RANK;
+
+    private final Set<ActionType> triggers;
+
+    BadgeCriteria(ActionType... triggers) {
+        this.triggers = triggers.length == 0
+                ? Collections.unmodifiableSet(EnumSet.noneOf(ActionType.class))
+                : Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(triggers)));
+    }
+
+    public Set<ActionType> getTriggers() {
+        return triggers;
+    }
+
+    public static BadgeCriteria fromCriteriaType(String criteriaType) {
+        if (criteriaType == null) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(criteria -> criteria.name().equals(criteriaType))
+                .findFirst()
+                .orElse(null);
+    }
+}
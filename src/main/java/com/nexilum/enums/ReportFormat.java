@@ -0,0 +1,22 @@
+package com.nexilum.enums;
+
+public enum ReportFormat {
+    PDF("pdf", "application/pdf"),
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,8 @@
+package com.nexilum.enums;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
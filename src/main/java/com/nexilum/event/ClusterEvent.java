@@ -0,0 +1,9 @@
+package com.nexilum.event;
+
+/**
+ * Evento que tambem precisa chegar aos outros nos da aplicacao (ex: invalidar caches locais).
+ * No modo postgres ele e repassado apos o commit e republicado localmente em cada no;
+ * os ouvintes devem apenas ajustar estado local e tolerar repeticoes.
+ */
+public interface ClusterEvent {
+}
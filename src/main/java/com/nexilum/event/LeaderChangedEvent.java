@@ -0,0 +1,6 @@
+package com.nexilum.event;
+
+/**
+ * Publicado quando o primeiro colocado do ranking global muda.
+ */
+public record LeaderChangedEvent(Long previousLeaderId, Long leaderId, int totalPoints) {}
@@ -0,0 +1,7 @@
+package com.nexilum.event;
+
+/**
+ * Publicado sempre que o total de pontos de um usuario muda.
+ * Os listeners reagem apos o commit da transacao que alterou os pontos.
+ */
+public record PointsChangedEvent(Long userId, String email, int totalPoints) {}
@@ -0,0 +1,13 @@
+package com.nexilum.event;
+
+/**
+ * Publicado quando membros de um projeto mudam.
+ * {@code userId} nulo indica que todo o projeto mudou (ex: projeto excluido).
+ * Chega tambem aos outros nos, que descartam as decisoes de acesso em cache.
+ */
+public record ProjectMembershipChangedEvent(Long projectId, Long userId) implements ClusterEvent {
+
+    public static ProjectMembershipChangedEvent allMembers(Long projectId) {
+        return new ProjectMembershipChangedEvent(projectId, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.nexilum.event;
+
+/**
+ * Publicado quando uma tarefa muda e o quadro do projeto precisa ser atualizado.
+ * O payload ja vem montado (ex: TaskResponse) para nao depender de lazy loading apos o commit.
+ */
+public record TaskChangedEvent(Long projectId, Long taskId, String event, Object payload) {
+}
@@ -0,0 +1,19 @@
+package com.nexilum.event;
+
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+
+/**
+ * Publicado quando uma acao do usuario pode alterar os contadores de badges.
+ * {@code amount} e negativo quando a acao e desfeita (ex: tarefa saindo de DONE).
+ */
+public record UserActionEvent(User user, ActionType action, int amount, boolean earlyCompletion) {
+
+    public static UserActionEvent of(User user, ActionType action) {
+        return new UserActionEvent(user, action, 1, false);
+    }
+
+    public static UserActionEvent reverted(User user, ActionType action) {
+        return new UserActionEvent(user, action, -1, false);
+    }
+}
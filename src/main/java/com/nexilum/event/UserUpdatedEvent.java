@@ -0,0 +1,7 @@
+package com.nexilum.event;
+
+/**
+ * Publicado quando dados do usuario usados na autenticacao mudam (perfil, papel).
+ * Chega tambem aos outros nos, que descartam o principal em cache.
+ */
+public record UserUpdatedEvent(Long userId, String email) implements ClusterEvent {}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,4 +52,14 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
         ORDER BY CAST(a.createdAt AS LocalDate) DESC
     """)
     List<LocalDate> findDistinctActivityDatesByUser(Long userId);
+
+    /**
+     * Garante que a sequence de ids esteja a frente dos ids ja gravados (ex.: linhas da epoca do IDENTITY)
+     */
+    @Transactional
+    @Query(value = """
+        SELECT setval('activity_logs_seq',
+            GREATEST((SELECT COALESCE(MAX(id), 0) FROM activity_logs), (SELECT last_value FROM activity_logs_seq)))
+    """, nativeQuery = true)
+    Long alignIdSequence();
 }
@@ -0,0 +1,24 @@
+package com.nexilum.repository;
+
+import com.nexilum.entity.DataMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+
+    /**
+     * Registra a migracao como aplicada; ignora se outro no ja registrou
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO data_migrations (name, applied_at)
+        VALUES (:name, now())
+        ON CONFLICT (name) DO NOTHING
+    """, nativeQuery = true)
+    int markApplied(String name);
+}
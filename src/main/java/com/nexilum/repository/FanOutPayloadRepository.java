@@ -0,0 +1,19 @@
+package com.nexilum.repository;
+
+import com.nexilum.entity.FanOutPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface FanOutPayloadRepository extends JpaRepository<FanOutPayload, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FanOutPayload p WHERE p.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,17 @@
+package com.nexilum.repository;
+
+import com.nexilum.entity.NotificationInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationInboxEntryRepository extends JpaRepository<NotificationInboxEntry, NotificationInboxEntry.Key> {
+
+    @Modifying
+    @Query("DELETE FROM NotificationInboxEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
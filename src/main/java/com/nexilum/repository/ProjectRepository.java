@@ -1,12 +1,15 @@
 package com.nexilum.repository;
 
 import com.nexilum.entity.Project;
+import com.nexilum.repository.projection.ProjectStats;
+import com.nexilum.repository.projection.Recipient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,12 +23,58 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)")
     Page<Project> findAllByUserId(Long userId, Pageable pageable);
 
+    @Query("SELECT p FROM Project p JOIN FETCH p.owner WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)")
+    List<Project> findAllWithOwnerByUserId(Long userId);
+
+    @Query(value = "SELECT p FROM Project p JOIN FETCH p.owner WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)")
+    Page<Project> findAllWithOwnerByUserId(Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.nexilum.repository.projection.ProjectStats(
+            p.id,
+            (SELECT COUNT(t) FROM Task t WHERE t.project.id = p.id),
+            (SELECT COUNT(t) FROM Task t WHERE t.project.id = p.id AND t.status = 'DONE'),
+            (SELECT COUNT(m) FROM p.members m)
+        )
+        FROM Project p
+        WHERE p.id IN :projectIds
+    """)
+    List<ProjectStats> findStatsByProjectIds(Collection<Long> projectIds);
+
+    /**
+     * Marca d'agua do projeto para relatorios: muda sempre que algo exibido no relatorio muda
+     */
+    @Query("""
+        SELECT p.updatedAt,
+            (SELECT COUNT(t) FROM Task t WHERE t.project.id = p.id),
+            (SELECT MAX(t.updatedAt) FROM Task t WHERE t.project.id = p.id),
+            (SELECT COUNT(m) FROM p.members m)
+        FROM Project p
+        WHERE p.id = :projectId
+    """)
+    List<Object[]> findReportWatermark(Long projectId);
+
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Project p WHERE p.id = :projectId AND (p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m))")
     boolean isUserMemberOfProject(Long projectId, Long userId);
 
     @Query("SELECT COUNT(p) FROM Project p WHERE p.owner.id = :ownerId")
     int countByOwnerId(Long ownerId);
 
+    @Query("SELECT COUNT(m) FROM Project p JOIN p.members m WHERE p.id = :projectId")
+    long countMembers(Long projectId);
+
+    /**
+     * Dono e membros do projeto, sem carregar as entidades de usuario
+     */
+    @Query("""
+        SELECT new com.nexilum.repository.projection.Recipient(u.id, u.email)
+        FROM User u
+        WHERE u.id = (SELECT p.owner.id FROM Project p WHERE p.id = :projectId)
+        OR u.id IN (SELECT m.id FROM Project p JOIN p.members m WHERE p.id = :projectId)
+    """)
+    List<Recipient> findRecipients(Long projectId);
+
     @Query("SELECT COUNT(p) FROM Project p JOIN p.members m WHERE m.id = :memberId")
     int countByMembersId(Long memberId);
 }
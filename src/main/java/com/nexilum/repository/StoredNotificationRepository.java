@@ -0,0 +1,31 @@
+package com.nexilum.repository;
+
+import com.nexilum.entity.StoredNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StoredNotificationRepository extends JpaRepository<StoredNotification, Long> {
+
+    /**
+     * Notificacoes do usuario com sequencia maior que o cursor, em ordem
+     */
+    @Query("""
+        SELECT n FROM NotificationInboxEntry e
+        JOIN StoredNotification n ON n.id = e.id.notificationId
+        WHERE e.id.userId = :userId
+        AND e.id.notificationId > :since
+        ORDER BY e.id.notificationId
+    """)
+    List<StoredNotification> findInboxSince(Long userId, Long since, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM StoredNotification n WHERE n.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -3,19 +3,42 @@ package com.nexilum.repository;
 import com.nexilum.entity.Task;
 import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.repository.projection.TaskRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
+    String TASK_ROW_SELECT = """
+        SELECT new com.nexilum.repository.projection.TaskRow(
+            t.id, t.title, t.description, t.status, t.priority, t.deadline, t.completedAt, t.pointsAwarded,
+            p.id, p.name,
+            a.id, a.name, a.avatarUrl,
+            r.id, r.name, r.avatarUrl,
+            t.commentCount,
+            t.createdAt, t.updatedAt
+        )
+        FROM Task t
+        JOIN t.project p
+        JOIN t.reporter r
+        LEFT JOIN t.assignee a
+    """;
+
     List<Task> findByProjectId(Long projectId);
 
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
@@ -24,6 +47,31 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
 
     Page<Task> findByAssigneeId(Long assigneeId, Pageable pageable);
 
+    @Query(TASK_ROW_SELECT + " WHERE p.id = :projectId")
+    List<TaskRow> findRowsByProjectId(Long projectId);
+
+    @Query(value = TASK_ROW_SELECT + " WHERE p.id = :projectId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
+    Page<TaskRow> findRowsByProjectId(Long projectId, Pageable pageable);
+
+    /**
+     * Cursor somente leitura sobre as tarefas do projeto, para exportacoes.
+     * Deve ser consumido dentro de uma transacao e fechado ao final.
+     */
+    @Query(TASK_ROW_SELECT + " WHERE p.id = :projectId ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskRow> streamRowsByProjectId(Long projectId);
+
+    @Query(TASK_ROW_SELECT + " WHERE a.id = :assigneeId")
+    List<TaskRow> findRowsByAssigneeId(Long assigneeId);
+
+    @Query(value = TASK_ROW_SELECT + " WHERE a.id = :assigneeId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :assigneeId")
+    Page<TaskRow> findRowsByAssigneeId(Long assigneeId, Pageable pageable);
+
     List<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status);
 
     List<Task> findByProjectIdAndAssigneeId(Long projectId, Long assigneeId);
@@ -40,9 +88,51 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status = 'DONE'")
     Long countCompletedTasksByUser(Long userId);
 
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status = 'DONE' AND t.completedAt >= :since")
+    Long countCompletedByAssigneeSince(Long userId, LocalDateTime since);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status = 'DONE' AND t.deadline IS NOT NULL AND CAST(t.completedAt AS LocalDate) < t.deadline")
+    Long countEarlyCompletionsByAssignee(Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta WHERE t.id = :taskId")
+    int adjustCommentCount(Long taskId, int delta);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Task t")
+    long findMaxId();
+
+    /**
+     * Ids no intervalo (fromId, toId] cujo comment_count diverge da tabela comments
+     */
+    @Query(value = """
+        SELECT t.id FROM tasks t
+        WHERE t.id > :fromId AND t.id <= :toId
+        AND t.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.task_id = t.id)
+        ORDER BY t.id
+    """, nativeQuery = true)
+    List<Long> findCommentCountDrift(long fromId, long toId);
+
+    @Query(value = "SELECT t.id FROM tasks t WHERE t.id IN (:ids) ORDER BY t.id FOR UPDATE", nativeQuery = true)
+    List<Long> lockForUpdate(Collection<Long> ids);
+
+    /**
+     * Recalcula comment_count das tarefas informadas (chamar com as linhas ja bloqueadas)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE tasks t
+        SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.task_id = t.id)
+        WHERE t.id IN (:ids)
+        AND t.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.task_id = t.id)
+    """, nativeQuery = true)
+    int recountComments(Collection<Long> ids);
+
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
     Long countByProjectId(Long projectId);
 
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.project.id = :projectId GROUP BY t.status")
+    List<Object[]> countByStatusForProject(Long projectId);
+
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
     Long countByProjectIdAndStatus(Long projectId, TaskStatus status);
 }
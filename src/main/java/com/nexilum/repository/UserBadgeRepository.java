@@ -15,6 +15,9 @@ public interface UserBadgeRepository extends JpaRepository<UserBadge, Long> {
     @Query("SELECT CASE WHEN COUNT(ub) > 0 THEN true ELSE false END FROM UserBadge ub WHERE ub.user.id = :userId AND ub.badge.code = :badgeCode")
     boolean userHasBadge(Long userId, String badgeCode);
 
+    @Query("SELECT ub.badge.code FROM UserBadge ub WHERE ub.user.id = :userId")
+    List<String> findBadgeCodesByUserId(Long userId);
+
     @Query("SELECT COUNT(ub) FROM UserBadge ub WHERE ub.user.id = :userId")
     Long countByUserId(Long userId);
 }
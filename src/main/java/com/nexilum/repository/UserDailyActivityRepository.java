@@ -0,0 +1,70 @@
+package com.nexilum.repository;
+
+import com.nexilum.entity.UserDailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, UserDailyActivity.Key> {
+
+    @Query("""
+        SELECT d FROM UserDailyActivity d
+        WHERE d.id.userId = :userId
+        AND d.id.day >= :since
+        ORDER BY d.id.day
+    """)
+    List<UserDailyActivity> findByUserIdSince(Long userId, LocalDate since);
+
+    /**
+     * Marca d'agua do heatmap: ultima alteracao do usuario e do seu agregado diario
+     */
+    @Query("""
+        SELECT u.updatedAt,
+            (SELECT MAX(d.updatedAt) FROM UserDailyActivity d WHERE d.id.userId = u.id)
+        FROM User u
+        WHERE u.id = :userId
+    """)
+    List<Object[]> findHeatmapWatermark(Long userId);
+
+    /**
+     * Soma contagem e pontos ao dia do usuario, criando a linha se necessario
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_daily_activity (user_id, day, activity_count, points, updated_at)
+        VALUES (:userId, :day, :count, :points, now())
+        ON CONFLICT (user_id, day) DO UPDATE
+        SET activity_count = user_daily_activity.activity_count + EXCLUDED.activity_count,
+            points = user_daily_activity.points + EXCLUDED.points,
+            updated_at = EXCLUDED.updated_at
+    """, nativeQuery = true)
+    void increment(Long userId, LocalDate day, int count, int points);
+
+    /**
+     * Bloqueia novas gravacoes em activity_logs ate o fim da transacao
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE activity_logs IN SHARE MODE", nativeQuery = true)
+    void lockActivityLogs();
+
+    /**
+     * Recalcula o agregado inteiro a partir de activity_logs
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_daily_activity (user_id, day, activity_count, points, updated_at)
+        SELECT a.user_id, CAST(a.created_at AS date), COUNT(*), COALESCE(SUM(a.points_earned), 0), now()
+        FROM activity_logs a
+        GROUP BY a.user_id, CAST(a.created_at AS date)
+        ON CONFLICT (user_id, day) DO UPDATE
+        SET activity_count = EXCLUDED.activity_count,
+            points = EXCLUDED.points,
+            updated_at = EXCLUDED.updated_at
+    """, nativeQuery = true)
+    int rebuildFromActivityLogs();
+}
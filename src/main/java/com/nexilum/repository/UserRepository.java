@@ -40,6 +40,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u ORDER BY u.totalPoints DESC")
     List<User> findAllByOrderByTotalPointsDesc(org.springframework.data.domain.Pageable pageable);
 
+    @Query("SELECT u.id, u.totalPoints FROM User u")
+    List<Object[]> findAllIdAndTotalPoints();
+
     @Query("""
         SELECT u FROM User u 
         WHERE u.id IN (
@@ -0,0 +1,11 @@
+package com.nexilum.repository.projection;
+
+/**
+ * Contadores agregados de um projeto (tarefas, tarefas concluidas e membros).
+ */
+public record ProjectStats(Long projectId, Long taskCount, Long completedTaskCount, Long memberCount) {
+
+    public static ProjectStats empty(Long projectId) {
+        return new ProjectStats(projectId, 0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nexilum.repository.projection;
+
+/**
+ * Destinatario de notificacao: apenas id e email (identificador das sessoes STOMP).
+ */
+public record Recipient(Long userId, String email) {
+}
@@ -0,0 +1,40 @@
+package com.nexilum.repository.projection;
+
+import com.nexilum.enums.TaskPriority;
+import com.nexilum.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha plana de tarefa para listagens: dados da tarefa, projeto, responsavel,
+ * relator e quantidade de comentarios, carregados em uma unica consulta.
+ */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate deadline,
+        LocalDateTime completedAt,
+        Integer pointsAwarded,
+        Long projectId,
+        String projectName,
+        Long assigneeId,
+        String assigneeName,
+        String assigneeAvatarUrl,
+        Long reporterId,
+        String reporterName,
+        String reporterAvatarUrl,
+        Integer commentCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public boolean isOverdue() {
+        return deadline != null
+                && status != TaskStatus.DONE
+                && LocalDate.now().isAfter(deadline);
+    }
+}
@@ -0,0 +1,109 @@
+package com.nexilum.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexilum.entity.User;
+import com.nexilum.event.PointsChangedEvent;
+import com.nexilum.event.UserUpdatedEvent;
+import com.nexilum.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache dos usuarios autenticados por email (subject do JWT).
+ * Evita um SELECT em users a cada requisicao HTTP e a cada CONNECT STOMP.
+ * Entradas expiram por TTL e sao invalidadas quando perfil, papel ou pontos mudam.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user_principal");
+    }
+
+    /**
+     * Retorna uma copia do usuario, pois os services alteram e salvam o principal
+     */
+    public User getByEmail(String email) {
+        User cached = cache.get(email, key -> userRepository.findByEmail(key).orElse(null));
+        if (cached == null) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return copyOf(cached);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPointsChanged(PointsChangedEvent event) {
+        invalidate(event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidate(event.email());
+    }
+
+    /**
+     * Associations are replaced by empty immutable collections: the source's lazy collections
+     * belong to a closed session and the cached entry is shared across threads. Being inverse
+     * sides without orphan removal, merging the copy issues no SQL for them.
+     */
+    private static User copyOf(User source) {
+        User copy = User.builder()
+                .id(source.getId())
+                .name(source.getName())
+                .email(source.getEmail())
+                .password(source.getPassword())
+                .avatarUrl(source.getAvatarUrl())
+                .role(source.getRole())
+                .totalPoints(source.getTotalPoints())
+                .level(source.getLevel())
+                .levelName(source.getLevelName())
+                .currentStreak(source.getCurrentStreak())
+                .longestStreak(source.getLongestStreak())
+                .lastActivityDate(source.getLastActivityDate())
+                .tasksCompleted(source.getTasksCompleted())
+                .ownedProjects(Set.of())
+                .projects(Set.of())
+                .assignedTasks(Set.of())
+                .badges(Set.of())
+                .activities(List.of())
+                .build();
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nexilum.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * JWT com assinatura ja verificada e claims interpretadas.
+ */
+public record VerifiedToken(String subject, Date expiration, Claims claims) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,194 @@
+package com.nexilum.service;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.repository.ActivityLogRepository;
+import com.nexilum.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravacao assincrona (write-behind) do activity log.
+ * As entradas entram numa fila limitada apos o commit da transacao de origem e uma
+ * thread dedicada grava em lotes (saveAll com batch JDBC). Com a fila cheia o chamador
+ * grava a propria entrada de forma sincrona, em transacao propria; no shutdown a fila e esvaziada antes de parar.
+ * Cada lote tambem atualiza o agregado diario (user_daily_activity) na mesma transacao;
+ * o backfill desse agregado roda no start, antes da primeira gravacao.
+ */
+@Slf4j
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+
+    // Stop after the web server has stopped taking requests
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final UserRepository userRepository;
+    private final DailyActivityRollup dailyActivityRollup;
+    private final OneOffMigrations oneOffMigrations;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ActivityLog> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActivityLogWriter(
+            ActivityLogRepository activityLogRepository,
+            UserRepository userRepository,
+            DailyActivityRollup dailyActivityRollup,
+            OneOffMigrations oneOffMigrations,
+            PlatformTransactionManager transactionManager,
+            @Value("${activity-log.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${activity-log.writer.batch-size:50}") int batchSize,
+            @Value("${activity-log.writer.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${activity-log.writer.offer-timeout:PT0.05S}") Duration offerTimeout
+    ) {
+        this.activityLogRepository = activityLogRepository;
+        this.userRepository = userRepository;
+        this.dailyActivityRollup = dailyActivityRollup;
+        this.oneOffMigrations = oneOffMigrations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // The synchronous fallback runs from afterCommit; it must not join the finished transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Agenda a gravacao da entrada; dentro de uma transacao, so apos o commit
+     */
+    public void append(ActivityLog entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        activityLogRepository.alignIdSequence();
+        // Runs before the worker and the web server start, so this node adds no increments meanwhile
+        oneOffMigrations.runOnce(DailyActivityRollup.BACKFILL, dailyActivityRollup::rebuild);
+        running = true;
+        worker = new Thread(this::drainLoop, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Activity log writer started (batch size {})", batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.join(Duration.ofSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            // Worker did not finish in time; flush the rest from the stopping thread
+            flushRemaining();
+        }
+        log.info("Activity log writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public int pendingEntries() {
+        return queue.size();
+    }
+
+    private void enqueue(ActivityLog entry) {
+        if (running) {
+            try {
+                if (queue.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            log.debug("Activity log queue is full, writing entry synchronously");
+        }
+        writeBatch(List.of(entry));
+    }
+
+    private void drainLoop() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ActivityLog first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} activity log entries", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} activity log entries on shutdown", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<ActivityLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ActivityLog entry : batch) {
+                // Entries carry detached users from the request; only the id is needed
+                entry.setUser(userRepository.getReferenceById(entry.getUser().getId()));
+            }
+            activityLogRepository.saveAll(batch);
+            dailyActivityRollup.apply(batch);
+        });
+    }
+}
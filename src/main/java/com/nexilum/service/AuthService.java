@@ -6,12 +6,15 @@ import com.nexilum.dto.response.AuthResponse;
 import com.nexilum.dto.response.UserResponse;
 import com.nexilum.entity.User;
 import com.nexilum.enums.Role;
+import com.nexilum.event.PointsChangedEvent;
 import com.nexilum.exception.BadRequestException;
 import com.nexilum.repository.UserRepository;
 import com.nexilum.security.JwtService;
+import com.nexilum.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,6 +30,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
@@ -53,6 +57,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new PointsChangedEvent(user.getId(), user.getEmail(), user.getTotalPoints()));
         log.info("User registered successfully with id: {}", user.getId());
 
         String accessToken = jwtService.generateToken(user);
@@ -83,12 +88,12 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        String userEmail = jwtService.extractUsername(refreshToken);
+        VerifiedToken token = jwtService.verify(refreshToken);
         
-        User user = userRepository.findByEmail(userEmail)
+        User user = userRepository.findByEmail(token.subject())
                 .orElseThrow(() -> new BadRequestException("Usuário não encontrado"));
 
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        if (!jwtService.isTokenValid(token, user)) {
             throw new BadRequestException("Refresh token inválido");
         }
 
@@ -0,0 +1,352 @@
+package com.nexilum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexilum.entity.Badge;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.enums.BadgeCriteria;
+import com.nexilum.event.UserActionEvent;
+import com.nexilum.repository.CommentRepository;
+import com.nexilum.repository.ProjectRepository;
+import com.nexilum.repository.TaskRepository;
+import com.nexilum.repository.UserBadgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Motor de regras de badges orientado a eventos.
+ * Cada regra escuta apenas as acoes que podem aumentar o seu contador, e os contadores
+ * por usuario ficam em memoria (cache limitado, relido do banco apos state-ttl): sao
+ * carregados na transacao da acao que primeiro os usa e depois atualizados por delta.
+ * Os contadores sao uma estimativa (outros nos nao aplicam deltas aqui): perto do limite
+ * de uma regra o valor e relido do banco antes de decidir.
+ * O estado de cada usuario e protegido por um ReentrantLock (e nao synchronized) porque a
+ * carga dos contadores consulta o banco, o que prenderia a carrier thread de uma virtual thread.
+ */
+@Slf4j
+@Component
+public class BadgeRuleEngine {
+
+    private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserBadgeRepository userBadgeRepository;
+    private final Cache<Long, UserBadgeState> states;
+    private final int recheckMargin;
+
+    private volatile List<BadgeRule> rules = List.of();
+    private volatile Map<ActionType, List<BadgeRule>> rulesByAction = Map.of();
+    private volatile Map<BadgeCriteria, List<BadgeRule>> rulesByCriteria = Map.of();
+    private volatile Map<String, BadgeRule> rulesByCode = Map.of();
+
+    public BadgeRuleEngine(
+            CommentRepository commentRepository,
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            UserBadgeRepository userBadgeRepository,
+            @Value("${gamification.badges.state-max-size:10000}") long maxSize,
+            @Value("${gamification.badges.state-ttl:PT5M}") Duration ttl,
+            @Value("${gamification.badges.recheck-margin:3}") int recheckMargin
+    ) {
+        this.commentRepository = commentRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userBadgeRepository = userBadgeRepository;
+        this.recheckMargin = recheckMargin;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // Bounds how far the counters can drift from actions applied on other nodes
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Monta as regras a partir dos badges cadastrados
+     */
+    public void registerBadges(List<Badge> badges) {
+        List<BadgeRule> built = new ArrayList<>();
+        Map<ActionType, List<BadgeRule>> byAction = new EnumMap<>(ActionType.class);
+        Map<BadgeCriteria, List<BadgeRule>> byCriteria = new EnumMap<>(BadgeCriteria.class);
+        Map<String, BadgeRule> byCode = new HashMap<>();
+
+        for (Badge badge : badges) {
+            BadgeCriteria criteria = BadgeCriteria.fromCriteriaType(badge.getCriteriaType());
+            if (criteria == null) {
+                log.warn("Unknown criteria type {} for badge {}", badge.getCriteriaType(), badge.getCode());
+                continue;
+            }
+            BadgeRule rule = new BadgeRule(badge, built.size(), criteria);
+            built.add(rule);
+            byCode.put(badge.getCode(), rule);
+            byCriteria.computeIfAbsent(criteria, c -> new ArrayList<>()).add(rule);
+            for (ActionType action : criteria.getTriggers()) {
+                byAction.computeIfAbsent(action, a -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        rules = List.copyOf(built);
+        rulesByAction = byAction;
+        rulesByCriteria = byCriteria;
+        rulesByCode = byCode;
+        states.invalidateAll();
+        log.info("Badge rule engine loaded {} rules", built.size());
+    }
+
+    public Optional<Badge> findBadge(String badgeCode) {
+        BadgeRule rule = rulesByCode.get(badgeCode);
+        return rule == null ? Optional.empty() : Optional.of(rule.badge());
+    }
+
+    /**
+     * Aplica a acao aos contadores do usuario e retorna os badges cujo limite foi atingido
+     */
+    public List<Badge> onAction(UserActionEvent event) {
+        User user = event.user();
+        UserBadgeState state = stateOf(user.getId());
+        List<BadgeRule> candidates = event.amount() > 0
+                ? rulesByAction.getOrDefault(event.action(), List.of())
+                : List.of();
+
+        state.lock.lock();
+        try {
+            applyDelta(user.getId(), state, event);
+            evictOnRollback(user.getId());
+            return crossed(user, state, candidates);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Reavalia todas as regras do usuario (exceto as que nao dependem de acoes)
+     */
+    public List<Badge> evaluateAll(User user) {
+        UserBadgeState state = stateOf(user.getId());
+        state.lock.lock();
+        try {
+            return crossed(user, state, rules);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public boolean hasEarned(Long userId, String badgeCode) {
+        BadgeRule rule = rulesByCode.get(badgeCode);
+        if (rule == null) {
+            return false;
+        }
+        UserBadgeState state = stateOf(userId);
+        state.lock.lock();
+        try {
+            return state.earned.get(rule.index());
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public void markEarned(Long userId, String badgeCode) {
+        BadgeRule rule = rulesByCode.get(badgeCode);
+        if (rule == null) {
+            return;
+        }
+        UserBadgeState state = stateOf(userId);
+        state.lock.lock();
+        try {
+            state.earned.set(rule.index());
+        } finally {
+            state.lock.unlock();
+        }
+        evictOnRollback(userId);
+    }
+
+    private UserBadgeState stateOf(Long userId) {
+        UserBadgeState state = states.getIfPresent(userId);
+        if (state != null) {
+            return state;
+        }
+
+        BitSet earned = new BitSet(rules.size());
+        for (String code : userBadgeRepository.findBadgeCodesByUserId(userId)) {
+            BadgeRule rule = rulesByCode.get(code);
+            if (rule != null) {
+                earned.set(rule.index());
+            }
+        }
+        UserBadgeState created = new UserBadgeState(earned);
+        UserBadgeState existing = states.asMap().putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * An action never skips a counter: one that is not loaded yet is read now, in the
+     * action's own transaction, so the count includes this action's uncommitted row.
+     * Counters whose rules the user has all earned are not maintained.
+     */
+    private void applyDelta(Long userId, UserBadgeState state, UserActionEvent event) {
+        int amount = event.amount();
+        switch (event.action()) {
+            case COMMENT_ADDED, COMMENT_DELETED -> adjust(userId, state, BadgeCriteria.COMMENTS_MADE, amount);
+            case TASK_COMPLETED -> {
+                if (amount < 0) {
+                    // We don't know when the reverted task was completed, so read both again
+                    reloadIfTracked(userId, state, BadgeCriteria.TASKS_IN_DAY);
+                    reloadIfTracked(userId, state, BadgeCriteria.EARLY_COMPLETIONS);
+                    return;
+                }
+                adjust(userId, state, BadgeCriteria.TASKS_IN_DAY, amount);
+                if (event.earlyCompletion()) {
+                    adjust(userId, state, BadgeCriteria.EARLY_COMPLETIONS, amount);
+                }
+            }
+            case PROJECT_CREATED, PROJECT_MEMBER_ADDED, PROJECT_MEMBER_REMOVED ->
+                    adjust(userId, state, BadgeCriteria.PROJECTS_JOINED, amount);
+            default -> {
+            }
+        }
+    }
+
+    private void adjust(Long userId, UserBadgeState state, BadgeCriteria criteria, int amount) {
+        if (!tracked(state, criteria)) {
+            return;
+        }
+        Long current = cached(state, criteria);
+        if (current == null) {
+            load(userId, state, criteria);
+        } else {
+            store(state, criteria, current + amount);
+        }
+    }
+
+    private void reloadIfTracked(Long userId, UserBadgeState state, BadgeCriteria criteria) {
+        if (tracked(state, criteria)) {
+            load(userId, state, criteria);
+        }
+    }
+
+    private boolean tracked(UserBadgeState state, BadgeCriteria criteria) {
+        for (BadgeRule rule : rulesByCriteria.getOrDefault(criteria, List.of())) {
+            if (!state.earned.get(rule.index())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Badge> crossed(User user, UserBadgeState state, List<BadgeRule> candidates) {
+        List<Badge> result = new ArrayList<>();
+        for (BadgeRule rule : candidates) {
+            if (rule.criteria() == BadgeCriteria.TOP_RANK || state.earned.get(rule.index())) {
+                continue;
+            }
+            if (counterValue(user, state, rule) >= rule.badge().getRequiredCount()) {
+                result.add(rule.badge());
+            }
+        }
+        return result;
+    }
+
+    private long counterValue(User user, UserBadgeState state, BadgeRule rule) {
+        BadgeCriteria criteria = rule.criteria();
+        switch (criteria) {
+            case TASKS_COMPLETED -> {
+                return user.getTasksCompleted();
+            }
+            case STREAK_DAYS -> {
+                return user.getCurrentStreak();
+            }
+            default -> {
+            }
+        }
+        Long estimate = cached(state, criteria);
+        if (estimate == null || estimate + recheckMargin >= rule.badge().getRequiredCount()) {
+            // Near the threshold the estimate may miss actions applied on other nodes
+            return load(user.getId(), state, criteria);
+        }
+        return estimate;
+    }
+
+    private Long cached(UserBadgeState state, BadgeCriteria criteria) {
+        return switch (criteria) {
+            case COMMENTS_MADE -> state.commentsMade;
+            case TASKS_IN_DAY -> LocalDate.now().equals(state.completionsDay) ? state.completionsToday : null;
+            case EARLY_COMPLETIONS -> state.earlyCompletions;
+            case PROJECTS_JOINED -> state.projectsJoined;
+            case TASKS_COMPLETED, STREAK_DAYS, TOP_RANK -> null;
+        };
+    }
+
+    /**
+     * Le o contador do banco (na transacao corrente) e o guarda no estado
+     */
+    private long load(Long userId, UserBadgeState state, BadgeCriteria criteria) {
+        long value = switch (criteria) {
+            case COMMENTS_MADE -> commentRepository.countByAuthorId(userId);
+            case TASKS_IN_DAY -> taskRepository.countCompletedByAssigneeSince(userId, LocalDate.now().atStartOfDay());
+            case EARLY_COMPLETIONS -> taskRepository.countEarlyCompletionsByAssignee(userId);
+            case PROJECTS_JOINED -> projectRepository.countByMembersId(userId);
+            case TASKS_COMPLETED, STREAK_DAYS, TOP_RANK -> 0L;
+        };
+        store(state, criteria, value);
+        return value;
+    }
+
+    private static void store(UserBadgeState state, BadgeCriteria criteria, long value) {
+        switch (criteria) {
+            case COMMENTS_MADE -> state.commentsMade = value;
+            case TASKS_IN_DAY -> {
+                state.completionsDay = LocalDate.now();
+                state.completionsToday = value;
+            }
+            case EARLY_COMPLETIONS -> state.earlyCompletions = value;
+            case PROJECTS_JOINED -> state.projectsJoined = value;
+            default -> {
+            }
+        }
+    }
+
+    private void evictOnRollback(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    states.invalidate(userId);
+                }
+            }
+        });
+    }
+
+    private record BadgeRule(Badge badge, int index, BadgeCriteria criteria) {
+    }
+
+    private static final class UserBadgeState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final BitSet earned;
+        private Long commentsMade;
+        private Long earlyCompletions;
+        private Long projectsJoined;
+        private LocalDate completionsDay;
+        private Long completionsToday;
+
+        private UserBadgeState(BitSet earned) {
+            this.earned = earned;
+        }
+    }
+}
@@ -6,19 +6,26 @@ import com.nexilum.entity.Badge;
 import com.nexilum.entity.User;
 import com.nexilum.entity.UserBadge;
 import com.nexilum.enums.ActionType;
-import com.nexilum.repository.ActivityLogRepository;
+import com.nexilum.event.LeaderChangedEvent;
+import com.nexilum.event.UserActionEvent;
 import com.nexilum.repository.BadgeRepository;
-import com.nexilum.repository.CommentRepository;
 import com.nexilum.repository.UserBadgeRepository;
 import com.nexilum.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,8 +36,13 @@ public class BadgeService {
     private final BadgeRepository badgeRepository;
     private final UserBadgeRepository userBadgeRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
-    private final ActivityLogRepository activityLogRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final BadgeRuleEngine badgeRuleEngine;
+    private final MeterRegistry meterRegistry;
+
+    // Cached by tag value: register() would build and look up the meter on every award
+    private final Map<String, Counter> awardedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> evaluationTimers = new ConcurrentHashMap<>();
     
     // Injected via setter to avoid circular dependency
     private NotificationService notificationService;
@@ -75,6 +87,8 @@ public class BadgeService {
         
         createBadgeIfNotExists(BADGE_TEAM_PLAYER, "Jogador de Equipe", 
                 "Participe de 5 projetos", "users", "PROJECTS_JOINED", 5);
+
+        badgeRuleEngine.registerBadges(badgeRepository.findAll());
     }
 
     private void createBadgeIfNotExists(String code, String name, String description, 
@@ -107,62 +121,75 @@ public class BadgeService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Reavalia todas as regras de badge do usuario
+     */
     @Transactional
     public Optional<BadgeResponse> checkAndAwardBadges(User user) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         BadgeResponse awardedBadge = null;
-
-        // Check First Task badge
-        if (user.getTasksCompleted() >= 1) {
-            awardedBadge = awardBadgeIfNotEarned(user, BADGE_FIRST_TASK);
-        }
-
-        // Check Centurion badge
-        if (user.getTasksCompleted() >= 100) {
-            BadgeResponse badge = awardBadgeIfNotEarned(user, BADGE_CENTURION);
-            if (badge != null) awardedBadge = badge;
-        }
-
-        // Check On Fire badge (7 day streak)
-        if (user.getCurrentStreak() >= 7) {
-            BadgeResponse badge = awardBadgeIfNotEarned(user, BADGE_ON_FIRE);
-            if (badge != null) awardedBadge = badge;
-        }
-
-        // Check Communicator badge (50 comments)
-        long commentCount = commentRepository.countByAuthorId(user.getId());
-        if (commentCount >= 50) {
-            BadgeResponse badge = awardBadgeIfNotEarned(user, BADGE_COMMUNICATOR);
-            if (badge != null) awardedBadge = badge;
+        for (Badge badge : badgeRuleEngine.evaluateAll(user)) {
+            BadgeResponse awarded = awardBadge(user, badge);
+            if (awarded != null) {
+                awardedBadge = awarded;
+            }
         }
+        sample.stop(evaluationTimer("full"));
+        // Leader badge is awarded by onLeaderChanged
+        return Optional.ofNullable(awardedBadge);
+    }
 
-        // Check Leader badge (top 1 in ranking)
-        List<User> topUsers = userRepository.findAllByOrderByTotalPointsDesc();
-        if (!topUsers.isEmpty() && topUsers.get(0).getId().equals(user.getId())) {
-            BadgeResponse badge = awardBadgeIfNotEarned(user, BADGE_LEADER);
-            if (badge != null) awardedBadge = badge;
+    /**
+     * Concede os badges cujo limite foi atingido pela acao.
+     * Roda na mesma transacao de quem publicou o evento.
+     */
+    @EventListener
+    @Transactional
+    public void onUserAction(UserActionEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        for (Badge badge : badgeRuleEngine.onAction(event)) {
+            awardBadge(event.user(), badge);
         }
+        sample.stop(evaluationTimer("action"));
+    }
 
-        return Optional.ofNullable(awardedBadge);
+    /**
+     * Concede o badge de lider quando o topo do ranking muda.
+     * Roda apos o commit da transacao que alterou os pontos, por isso abre uma nova.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onLeaderChanged(LeaderChangedEvent event) {
+        userRepository.findById(event.leaderId())
+                .ifPresent(leader -> awardBadgeIfNotEarned(leader, BADGE_LEADER));
     }
 
     @Transactional
     public BadgeResponse awardBadgeIfNotEarned(User user, String badgeCode) {
-        if (userBadgeRepository.userHasBadge(user.getId(), badgeCode)) {
+        Optional<Badge> badgeOpt = badgeRuleEngine.findBadge(badgeCode);
+        if (badgeOpt.isEmpty()) {
+            log.warn("Badge not found: {}", badgeCode);
             return null;
         }
+        return awardBadge(user, badgeOpt.get());
+    }
 
-        Optional<Badge> badgeOpt = badgeRepository.findByCode(badgeCode);
-        if (badgeOpt.isEmpty()) {
-            log.warn("Badge not found: {}", badgeCode);
+    private BadgeResponse awardBadge(User user, Badge badge) {
+        if (badgeRuleEngine.hasEarned(user.getId(), badge.getCode())) {
+            return null;
+        }
+        // Another node may have awarded it since our state was loaded
+        if (userBadgeRepository.userHasBadge(user.getId(), badge.getCode())) {
+            badgeRuleEngine.markEarned(user.getId(), badge.getCode());
             return null;
         }
 
-        Badge badge = badgeOpt.get();
         UserBadge userBadge = UserBadge.builder()
                 .user(user)
                 .badge(badge)
                 .build();
         userBadgeRepository.save(userBadge);
+        badgeRuleEngine.markEarned(user.getId(), badge.getCode());
 
         // Log badge earned
         ActivityLog activityLog = ActivityLog.builder()
@@ -170,9 +197,14 @@ public class BadgeService {
                 .action(ActionType.USER_BADGE_EARNED)
                 .details("Badge conquistado: " + badge.getName())
                 .build();
-        activityLogRepository.save(activityLog);
+        activityLogWriter.append(activityLog);
 
-        BadgeService.log.info("User {} earned badge: {}", user.getId(), badgeCode);
+        BadgeService.log.info("User {} earned badge: {}", user.getId(), badge.getCode());
+        awardedCounters.computeIfAbsent(badge.getCode(), code -> Counter.builder("badges.awarded")
+                .description("Badges awarded, by badge code")
+                .tag("badge", code)
+                .register(meterRegistry))
+                .increment();
 
         // Send notification
         if (notificationService != null) {
@@ -182,6 +214,16 @@ public class BadgeService {
         return BadgeResponse.fromUserBadge(userBadge);
     }
 
+    /**
+     * full: reavaliacao de todas as regras; action: regras afetadas por uma acao
+     */
+    private Timer evaluationTimer(String trigger) {
+        return evaluationTimers.computeIfAbsent(trigger, key -> Timer.builder("badges.evaluation")
+                .description("Badge rule evaluation, including the awards it triggers")
+                .tag("trigger", key)
+                .register(meterRegistry));
+    }
+
     public boolean userHasBadge(Long userId, String badgeCode) {
         return userBadgeRepository.userHasBadge(userId, badgeCode);
     }
@@ -0,0 +1,26 @@
+package com.nexilum.service;
+
+import java.util.Collection;
+
+/**
+ * Ponto unico de envio para destinos STOMP.
+ * A implementacao define o alcance: so o broker local (modo simple) ou todos os nos
+ * da aplicacao (modo postgres), conforme websocket.broker.mode.
+ */
+public interface BrokerFanOut {
+
+    /**
+     * Envia para um destino de broadcast (ex: /topic/project/1)
+     */
+    void send(String destination, Object payload);
+
+    /**
+     * Envia para as sessoes de um usuario (ex: /queue/notifications)
+     */
+    void sendToUser(String user, String destination, Object payload);
+
+    /**
+     * Envia o mesmo payload para varios usuarios, serializando uma unica vez
+     */
+    void sendToUsers(Collection<String> users, String destination, Object payload);
+}
@@ -0,0 +1,73 @@
+package com.nexilum.service;
+
+import com.nexilum.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recalcula tasks.comment_count a partir da tabela comments.
+ * O backfill roda uma unica vez (registrado em data_migrations); a reconciliacao periodica
+ * percorre as tarefas em faixas de id e corrige so as linhas divergentes, bloqueando-as antes
+ * do recalculo para nao perder incrementos concorrentes. Use cron "-" para desligar num no.
+ */
+@Slf4j
+@Component
+public class CommentCountReconciler {
+
+    static final String BACKFILL = "comment-count-backfill";
+
+    private final TaskRepository taskRepository;
+    private final OneOffMigrations oneOffMigrations;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CommentCountReconciler(
+            TaskRepository taskRepository,
+            OneOffMigrations oneOffMigrations,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.comment-count.reconcile-batch-size:1000}") int batchSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.oneOffMigrations = oneOffMigrations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        oneOffMigrations.runOnce(BACKFILL, this::reconcile);
+    }
+
+    @Scheduled(cron = "${tasks.comment-count.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        long maxId = taskRepository.findMaxId();
+        int fixed = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            List<Long> drifted = taskRepository.findCommentCountDrift(fromId, fromId + batchSize);
+            if (!drifted.isEmpty()) {
+                fixed += transactionTemplate.execute(status -> recount(drifted));
+            }
+        }
+        if (fixed > 0) {
+            log.warn("Reconciled comment_count on {} tasks", fixed);
+        } else {
+            log.debug("comment_count is consistent for all tasks");
+        }
+        return fixed;
+    }
+
+    private int recount(List<Long> taskIds) {
+        // Wait for in-flight comment transactions on these rows; the UPDATE below then
+        // takes a fresh snapshot that includes their comments and counter changes
+        taskRepository.lockForUpdate(taskIds);
+        return taskRepository.recountComments(taskIds);
+    }
+}
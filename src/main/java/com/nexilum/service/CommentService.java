@@ -6,12 +6,15 @@ import com.nexilum.entity.Comment;
 import com.nexilum.entity.Project;
 import com.nexilum.entity.Task;
 import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.event.UserActionEvent;
 import com.nexilum.exception.ForbiddenException;
 import com.nexilum.exception.ResourceNotFoundException;
 import com.nexilum.repository.CommentRepository;
 import com.nexilum.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,8 +32,9 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final GamificationService gamificationService;
-    private final BadgeService badgeService;
     private final NotificationService notificationService;
+    private final ProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CommentResponse create(Long taskId, CommentRequest request, User author) {
         log.debug("Creating comment on task {} by user {}", taskId, author.getEmail());
@@ -38,7 +42,7 @@ public class CommentService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa", "id", taskId));
 
-        validateUserAccessToProject(task.getProject(), author);
+        projectAccessService.validateAccess(task.getProject(), author);
 
         Comment comment = Comment.builder()
                 .content(request.getContent())
@@ -47,11 +51,11 @@ public class CommentService {
                 .build();
 
         Comment saved = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(taskId, 1);
         log.info("Comment created with ID {} on task {}", saved.getId(), taskId);
 
         // Award points for comment
         gamificationService.awardPointsForComment(author);
-        badgeService.checkAndAwardBadges(author);
 
         // Notify task assignee and reporter about new comment
         notificationService.notifyCommentAdded(saved, author);
@@ -64,7 +68,7 @@ public class CommentService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa", "id", taskId));
 
-        validateUserAccessToProject(task.getProject(), currentUser);
+        projectAccessService.validateAccess(task.getProject(), currentUser);
 
         return commentRepository.findByTaskIdOrderByCreatedAtAsc(taskId)
                 .stream()
@@ -77,7 +81,7 @@ public class CommentService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa", "id", taskId));
 
-        validateUserAccessToProject(task.getProject(), currentUser);
+        projectAccessService.validateAccess(task.getProject(), currentUser);
 
         return commentRepository.findByTaskId(taskId, pageable)
                 .map(CommentResponse::fromEntity);
@@ -86,7 +90,7 @@ public class CommentService {
     @Transactional(readOnly = true)
     public CommentResponse findById(Long id, User currentUser) {
         Comment comment = getCommentOrThrow(id);
-        validateUserAccessToProject(comment.getTask().getProject(), currentUser);
+        projectAccessService.validateAccess(comment.getTask().getProject(), currentUser);
 
         return CommentResponse.fromEntity(comment);
     }
@@ -122,6 +126,8 @@ public class CommentService {
 
         log.debug("Deleting comment {} by user {}", id, currentUser.getEmail());
         commentRepository.delete(comment);
+        taskRepository.adjustCommentCount(comment.getTask().getId(), -1);
+        eventPublisher.publishEvent(UserActionEvent.reverted(comment.getAuthor(), ActionType.COMMENT_DELETED));
         log.info("Comment {} deleted successfully", id);
     }
 
@@ -130,13 +136,4 @@ public class CommentService {
         return commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
     }
-
-    private void validateUserAccessToProject(Project project, User user) {
-        boolean hasAccess = project.getOwner().getId().equals(user.getId()) ||
-                project.getMembers().stream().anyMatch(m -> m.getId().equals(user.getId()));
-
-        if (!hasAccess) {
-            throw new ForbiddenException("Você não tem acesso a este projeto");
-        }
-    }
 }
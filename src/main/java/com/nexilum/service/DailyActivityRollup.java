@@ -0,0 +1,59 @@
+package com.nexilum.service;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.repository.UserDailyActivityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantem user_daily_activity em dia com o activity log.
+ * Cada lote gravado vira um upsert por (usuario, dia); o backfill a partir de activity_logs
+ * roda uma unica vez, pelo ActivityLogWriter, antes de a gravacao comecar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyActivityRollup {
+
+    static final String BACKFILL = "daily-activity-backfill";
+
+    private final UserDailyActivityRepository userDailyActivityRepository;
+
+    /**
+     * Soma as entradas ao agregado (deve rodar na mesma transacao que grava as entradas)
+     */
+    public void apply(List<ActivityLog> entries) {
+        Map<DayKey, int[]> totals = new HashMap<>();
+        for (ActivityLog entry : entries) {
+            DayKey key = new DayKey(entry.getUser().getId(), entry.getCreatedAt().toLocalDate());
+            int[] total = totals.computeIfAbsent(key, k -> new int[2]);
+            total[0]++;
+            total[1] += entry.getPointsEarned() != null ? entry.getPointsEarned() : 0;
+        }
+        totals.forEach((key, total) ->
+                userDailyActivityRepository.increment(key.userId(), key.day(), total[0], total[1]));
+    }
+
+    /**
+     * Reconstroi o agregado inteiro a partir de activity_logs
+     */
+    @Transactional
+    public int rebuild() {
+        // Waits for in-flight batches and holds new ones until commit, so the rebuilt
+        // totals match activity_logs exactly and later increments add on top of them
+        userDailyActivityRepository.lockActivityLogs();
+        int rows = userDailyActivityRepository.rebuildFromActivityLogs();
+        log.info("Rebuilt user_daily_activity ({} rows)", rows);
+        return rows;
+    }
+
+    private record DayKey(Long userId, LocalDate day) {
+    }
+}
@@ -3,23 +3,37 @@ package com.nexilum.service;
 import com.nexilum.dto.response.*;
 import com.nexilum.entity.ActivityLog;
 import com.nexilum.entity.User;
+import com.nexilum.entity.UserDailyActivity;
 import com.nexilum.entity.UserBadge;
 import com.nexilum.enums.ActionType;
 import com.nexilum.enums.TaskPriority;
-import com.nexilum.repository.ActivityLogRepository;
+import com.nexilum.event.PointsChangedEvent;
+import com.nexilum.event.UserActionEvent;
 import com.nexilum.repository.ProjectRepository;
 import com.nexilum.repository.UserBadgeRepository;
+import com.nexilum.repository.UserDailyActivityRepository;
 import com.nexilum.repository.UserRepository;
 import com.nexilum.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,10 +42,19 @@ import java.util.stream.Collectors;
 public class GamificationService {
 
     private final UserRepository userRepository;
-    private final ActivityLogRepository activityLogRepository;
     private final UserBadgeRepository userBadgeRepository;
     private final ProjectRepository projectRepository;
     private final CommentRepository commentRepository;
+    private final RankingIndex rankingIndex;
+    private final ActivityLogWriter activityLogWriter;
+    private final UserDailyActivityRepository userDailyActivityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final EntityManager entityManager;
+
+    // One counter/timer pair per action, built on the first award of that action
+    private final Map<ActionType, AwardMeters> awardMeters = new ConcurrentHashMap<>();
+    private final Map<Integer, Counter> levelUpCounters = new ConcurrentHashMap<>();
 
     // Points configuration
     private static final int POINTS_TASK_CREATED = 5;
@@ -42,6 +65,8 @@ public class GamificationService {
     private static final int POINTS_EARLY_COMPLETION_BONUS = 15;
     private static final int POINTS_STREAK_BONUS = 5;
 
+    private static final int MAX_HEATMAP_DAYS = 365;
+
     // Level thresholds
     private static final Map<Integer, LevelInfo> LEVELS = Map.of(
             1, new LevelInfo("Iniciante", 0, 99),
@@ -63,13 +88,13 @@ public class GamificationService {
                            projectRepository.countByMembersId(userId);
         long commentsCount = commentRepository.countByAuthorId(userId);
         
-        Integer globalRank = calculateGlobalRank(userId);
+        Integer globalRank = calculateGlobalRank(user);
         
         LevelInfo currentLevel = LEVELS.get(user.getLevel());
         LevelInfo nextLevel = LEVELS.getOrDefault(user.getLevel() + 1, currentLevel);
         
         int pointsToNextLevel = nextLevel.minPoints - user.getTotalPoints();
-        double progressPercentage = calculateProgressPercentage(user.getTotalPoints(), currentLevel, nextLevel);
+        double progressPercentage = progressPercentage(user.getTotalPoints(), user.getLevel());
 
         return GamificationProfileResponse.builder()
                 .userId(user.getId())
@@ -97,7 +122,7 @@ public class GamificationService {
 
     @Transactional
     public int awardPointsForTaskCreation(User user) {
-        return awardPoints(user, POINTS_TASK_CREATED, ActionType.TASK_CREATED, "Tarefa criada");
+        return awardPoints(lockUser(user), POINTS_TASK_CREATED, ActionType.TASK_CREATED, "Tarefa criada");
     }
 
     @Transactional
@@ -112,15 +137,16 @@ public class GamificationService {
             points += POINTS_EARLY_COMPLETION_BONUS;
         }
 
-        user.setTasksCompleted(user.getTasksCompleted() + 1);
+        User locked = lockUser(user);
+        locked.setTasksCompleted(locked.getTasksCompleted() + 1);
         
-        return awardPoints(user, points, ActionType.TASK_COMPLETED, 
-                "Tarefa completada (prioridade: " + priority + ")");
+        return awardPoints(locked, points, ActionType.TASK_COMPLETED, 
+                "Tarefa completada (prioridade: " + priority + ")", beforeDeadline);
     }
 
     @Transactional
     public int awardPointsForComment(User user) {
-        return awardPoints(user, POINTS_COMMENT_ADDED, ActionType.COMMENT_ADDED, "Comentario adicionado");
+        return awardPoints(lockUser(user), POINTS_COMMENT_ADDED, ActionType.COMMENT_ADDED, "Comentario adicionado");
     }
 
     @Transactional
@@ -129,28 +155,52 @@ public class GamificationService {
             return;
         }
         
-        user.removePoints(pointsToRemove);
-        user.setTasksCompleted(Math.max(0, user.getTasksCompleted() - 1));
+        User locked = lockUser(user);
+        locked.removePoints(pointsToRemove);
+        locked.setTasksCompleted(Math.max(0, locked.getTasksCompleted() - 1));
         
         // Check and update level (may go down)
-        checkAndUpdateLevelDown(user);
+        checkAndUpdateLevelDown(locked);
         
         // Log activity
         ActivityLog activityLog = ActivityLog.builder()
-                .user(user)
+                .user(locked)
                 .action(ActionType.TASK_COMPLETED) // Reusing action type
                 .pointsEarned(-pointsToRemove)
                 .details("Tarefa removida de concluido - pontos devolvidos")
                 .build();
-        activityLogRepository.save(activityLog);
+        activityLogWriter.append(activityLog);
         
-        userRepository.save(user);
+        userRepository.save(locked);
+        eventPublisher.publishEvent(new PointsChangedEvent(locked.getId(), locked.getEmail(), locked.getTotalPoints()));
+        eventPublisher.publishEvent(UserActionEvent.reverted(locked, ActionType.TASK_COMPLETED));
         
-        log.info("Removed {} points from user {} for task uncompletion", pointsToRemove, user.getId());
+        log.info("Removed {} points from user {} for task uncompletion", pointsToRemove, locked.getId());
     }
 
     @Transactional
     public int awardPoints(User user, int points, ActionType action, String details) {
+        return awardPoints(lockUser(user), points, action, details, false);
+    }
+
+    /**
+     * Usuario gerenciado e relido sob lock de linha (SELECT ... FOR UPDATE).
+     * O usuario recebido costuma ser o principal em cache, uma copia que pode estar defasada;
+     * o lock serializa pontuacoes concorrentes do mesmo usuario, inclusive entre nos.
+     */
+    private User lockUser(User user) {
+        User managed = userRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        entityManager.refresh(managed, LockModeType.PESSIMISTIC_WRITE);
+        return managed;
+    }
+
+    /**
+     * Espera um usuario ja travado por lockUser
+     */
+    private int awardPoints(User user, int points, ActionType action, String details, boolean earlyCompletion) {
+        long start = System.nanoTime();
+        int pointsBefore = user.getTotalPoints();
         user.addPoints(points);
         
         // Update streak
@@ -166,12 +216,19 @@ public class GamificationService {
                 .pointsEarned(points)
                 .details(details)
                 .build();
-        activityLogRepository.save(activityLog);
+        activityLogWriter.append(activityLog);
         
         userRepository.save(user);
+        eventPublisher.publishEvent(new PointsChangedEvent(user.getId(), user.getEmail(), user.getTotalPoints()));
+        eventPublisher.publishEvent(new UserActionEvent(user, action, 1, earlyCompletion));
         
         log.info("Awarded {} points to user {} for action {}", points, user.getId(), action);
-        
+
+        // Includes the streak bonus, so the rate matches what users actually gained
+        AwardMeters meters = awardMeters.computeIfAbsent(action, this::registerAwardMeters);
+        meters.points().increment(user.getTotalPoints() - pointsBefore);
+        meters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
         return points;
     }
 
@@ -199,48 +256,57 @@ public class GamificationService {
     }
 
     private void checkAndUpdateLevel(User user) {
-        int totalPoints = user.getTotalPoints();
-        int currentLevel = user.getLevel();
-
-        for (Map.Entry<Integer, LevelInfo> entry : LEVELS.entrySet()) {
-            int level = entry.getKey();
-            LevelInfo info = entry.getValue();
-
-            if (totalPoints >= info.minPoints && totalPoints <= info.maxPoints) {
-                if (level > currentLevel) {
-                    user.setLevel(level);
-                    user.setLevelName(info.name);
-                    log.info("User {} leveled up to {} ({})", user.getId(), level, info.name);
-                    
-                    // Log level up
-                    ActivityLog levelUpLog = ActivityLog.builder()
-                            .user(user)
-                            .action(ActionType.USER_LEVEL_UP)
-                            .details("Subiu para o nivel " + level + " - " + info.name)
-                            .build();
-                    activityLogRepository.save(levelUpLog);
-                }
-                break;
-            }
+        int level = levelFor(user.getTotalPoints());
+        if (level > user.getLevel()) {
+            LevelInfo info = LEVELS.get(level);
+            user.setLevel(level);
+            user.setLevelName(info.name);
+            log.info("User {} leveled up to {} ({})", user.getId(), level, info.name);
+            levelUpCounters.computeIfAbsent(level, reached -> Counter.builder("gamification.level.ups")
+                    .description("Level ups, by level reached")
+                    .tag("level", String.valueOf(reached))
+                    .register(meterRegistry))
+                    .increment();
+
+            // Log level up
+            ActivityLog levelUpLog = ActivityLog.builder()
+                    .user(user)
+                    .action(ActionType.USER_LEVEL_UP)
+                    .details("Subiu para o nivel " + level + " - " + info.name)
+                    .build();
+            activityLogWriter.append(levelUpLog);
         }
     }
 
     private void checkAndUpdateLevelDown(User user) {
-        int totalPoints = user.getTotalPoints();
-
-        for (Map.Entry<Integer, LevelInfo> entry : LEVELS.entrySet()) {
-            int level = entry.getKey();
-            LevelInfo info = entry.getValue();
-
-            if (totalPoints >= info.minPoints && totalPoints <= info.maxPoints) {
-                if (level != user.getLevel()) {
-                    user.setLevel(level);
-                    user.setLevelName(info.name);
-                    log.info("User {} level adjusted to {} ({})", user.getId(), level, info.name);
-                }
-                break;
+        int level = levelFor(user.getTotalPoints());
+        if (level > 0 && level != user.getLevel()) {
+            LevelInfo info = LEVELS.get(level);
+            user.setLevel(level);
+            user.setLevelName(info.name);
+            log.info("User {} level adjusted to {} ({})", user.getId(), level, info.name);
+        }
+    }
+
+    /**
+     * Nivel correspondente ao total de pontos (0 se negativo)
+     */
+    static int levelFor(int totalPoints) {
+        for (int level = LEVELS.size(); level > 0; level--) {
+            if (totalPoints >= LEVELS.get(level).minPoints) {
+                return level;
             }
         }
+        return 0;
+    }
+
+    /**
+     * Progresso (0-100) do total de pontos dentro do nivel informado
+     */
+    static double progressPercentage(int totalPoints, int level) {
+        LevelInfo currentLevel = LEVELS.get(level);
+        LevelInfo nextLevel = LEVELS.getOrDefault(level + 1, currentLevel);
+        return calculateProgressPercentage(totalPoints, currentLevel, nextLevel);
     }
 
     /**
@@ -259,12 +325,19 @@ public class GamificationService {
     }
 
     public RankingResponse getGlobalRanking(int limit) {
-        List<User> topUsers = userRepository.findAllByOrderByTotalPointsDesc(PageRequest.of(0, limit));
+        List<Long> topUserIds = rankingIndex.topUserIds(limit);
+        Map<Long, User> usersById = userRepository.findAllById(topUserIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
         
         List<RankingResponse.RankingEntry> rankings = new ArrayList<>();
         int position = 1;
         
-        for (User user : topUsers) {
+        for (Long userId : topUserIds) {
+            User user = usersById.get(userId);
+            if (user == null) {
+                continue;
+            }
             rankings.add(RankingResponse.RankingEntry.builder()
                     .position(position++)
                     .userId(user.getId())
@@ -280,7 +353,7 @@ public class GamificationService {
 
         return RankingResponse.builder()
                 .rankings(rankings)
-                .totalParticipants((int) userRepository.count())
+                .totalParticipants(rankingIndex.size())
                 .build();
     }
 
@@ -314,17 +387,16 @@ public class GamificationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-        List<Object[]> heatmapData = activityLogRepository.getActivityHeatmap(userId, startDate);
+        // Reads the daily rollup: at most one row per day in the window
+        LocalDate startDate = heatmapStart(days);
+        List<UserDailyActivity> heatmapData = userDailyActivityRepository.findByUserIdSince(userId, startDate);
 
         Map<LocalDate, Integer> contributions = new LinkedHashMap<>();
         int totalActivities = 0;
 
-        for (Object[] row : heatmapData) {
-            LocalDate date = (LocalDate) row[0];
-            Long count = (Long) row[1];
-            contributions.put(date, count.intValue());
-            totalActivities += count.intValue();
+        for (UserDailyActivity day : heatmapData) {
+            contributions.put(day.getId().getDay(), day.getCount());
+            totalActivities += day.getCount();
         }
 
         return HeatmapResponse.builder()
@@ -337,17 +409,83 @@ public class GamificationService {
                 .build();
     }
 
-    private Integer calculateGlobalRank(Long userId) {
-        List<User> allUsers = userRepository.findAllByOrderByTotalPointsDesc();
-        for (int i = 0; i < allUsers.size(); i++) {
-            if (allUsers.get(i).getId().equals(userId)) {
-                return i + 1;
+    /**
+     * Heatmap como data inicial + vetor de contagens diarias (um item por dia, inclusive hoje)
+     */
+    public CompactHeatmapResponse getCompactHeatmap(Long userId, int days) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        LocalDate startDate = heatmapStart(days);
+        int[] counts = new int[(int) ChronoUnit.DAYS.between(startDate, LocalDate.now()) + 1];
+        int totalActivities = 0;
+
+        for (UserDailyActivity day : userDailyActivityRepository.findByUserIdSince(userId, startDate)) {
+            int index = (int) ChronoUnit.DAYS.between(startDate, day.getId().getDay());
+            if (index >= 0 && index < counts.length) {
+                counts[index] = day.getCount();
+                totalActivities += day.getCount();
             }
         }
-        return null;
+
+        return CompactHeatmapResponse.builder()
+                .userId(userId)
+                .userName(user.getName())
+                .startDate(startDate)
+                .counts(counts)
+                .totalActivities(totalActivities)
+                .currentStreak(user.getCurrentStreak())
+                .longestStreak(user.getLongestStreak())
+                .build();
     }
 
-    private double calculateProgressPercentage(int totalPoints, LevelInfo current, LevelInfo next) {
+    /**
+     * ETag do heatmap (entre aspas, sem prefixo W/): muda quando o usuario ou o seu agregado
+     * diario mudam, quando a janela avanca (novo dia) e entre representacoes diferentes
+     */
+    public String getHeatmapETag(Long userId, int days, String representation) {
+        List<Object[]> rows = userDailyActivityRepository.findHeatmapWatermark(userId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        Object[] row = rows.get(0);
+        String watermark = userId + ":" + heatmapStart(days) + ":" + LocalDate.now()
+                + ":" + row[0] + ":" + row[1] + ":" + representation;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(watermark.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private LocalDate heatmapStart(int days) {
+        return LocalDate.now().minusDays(Math.min(Math.max(days, 0), MAX_HEATMAP_DAYS));
+    }
+
+    private AwardMeters registerAwardMeters(ActionType action) {
+        return new AwardMeters(
+                Counter.builder("gamification.points.awarded")
+                        .description("Points credited to users")
+                        .tag("action", action.name())
+                        .register(meterRegistry),
+                Timer.builder("gamification.award")
+                        .description("Time to award points, excluding the transaction commit")
+                        .tag("action", action.name())
+                        .register(meterRegistry));
+    }
+
+    private Integer calculateGlobalRank(User user) {
+        Integer rank = rankingIndex.rankOf(user.getId());
+        if (rank == null) {
+            // User not indexed yet (e.g. created before the index was rebuilt)
+            rankingIndex.update(user.getId(), user.getTotalPoints());
+            rank = rankingIndex.rankOf(user.getId());
+        }
+        return rank;
+    }
+
+    private static double calculateProgressPercentage(int totalPoints, LevelInfo current, LevelInfo next) {
         if (current.equals(next)) {
             return 100.0; // Max level
         }
@@ -357,4 +495,6 @@ public class GamificationService {
     }
 
     private record LevelInfo(String name, int minPoints, int maxPoints) {}
+
+    private record AwardMeters(Counter points, Timer timer) {}
 }
@@ -0,0 +1,81 @@
+package com.nexilum.service;
+
+import com.nexilum.event.LeaderChangedEvent;
+import com.nexilum.event.PointsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantem em memoria o lider atual do ranking global e publica
+ * {@link LeaderChangedEvent} quando ele muda.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderTracker {
+
+    private final RankingIndex rankingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<Long> currentLeaderId = new AtomicReference<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Long leaderId = findLeader();
+        currentLeaderId.set(leaderId);
+        log.info("Current ranking leader: {}", leaderId);
+
+        // Catches up a leader who lacks the badge; awarding is a no-op when already earned
+        Integer leaderPoints = leaderId != null ? rankingIndex.pointsOf(leaderId) : null;
+        if (leaderPoints != null) {
+            eventPublisher.publishEvent(new LeaderChangedEvent(null, leaderId, leaderPoints));
+        }
+    }
+
+    // Runs after RankingIndex has applied the same event
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPointsChanged(PointsChangedEvent event) {
+        Long leaderId = findLeader();
+        Long previousLeaderId = currentLeaderId.getAndSet(leaderId);
+
+        if (leaderId == null || Objects.equals(leaderId, previousLeaderId)) {
+            return;
+        }
+
+        Integer leaderPoints = rankingIndex.pointsOf(leaderId);
+        if (leaderPoints == null) {
+            return;
+        }
+        log.info("Ranking leader changed from {} to {}", previousLeaderId, leaderId);
+        eventPublisher.publishEvent(new LeaderChangedEvent(previousLeaderId, leaderId, leaderPoints));
+    }
+
+    public Long getCurrentLeaderId() {
+        return currentLeaderId.get();
+    }
+
+    /**
+     * Primeiro do ranking, desde que ja tenha pontos: quem esta no topo com 0 pontos
+     * (ex.: primeiro usuario cadastrado) so vira lider quando pontuar
+     */
+    private Long findLeader() {
+        List<Long> top = rankingIndex.topUserIds(1);
+        if (top.isEmpty()) {
+            return null;
+        }
+        Integer points = rankingIndex.pointsOf(top.get(0));
+        return points != null && points > 0 ? top.get(0) : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.nexilum.service;
+
+import com.nexilum.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Grava notificacoes na caixa de entrada e as envia fora da thread da requisicao.
+ * Dentro de uma transacao o trabalho so e agendado apos o commit; uma falha na caixa
+ * de entrada nao afeta a operacao de negocio e a notificacao segue sendo enviada (sem seq).
+ * Com a fila cheia quem notifica espera por espaco, mas nunca entrega na propria thread.
+ */
+@Slf4j
+@Component
+public class NotificationDelivery {
+
+    private final NotificationInbox notificationInbox;
+    private final ThreadPoolTaskExecutor executor;
+    private final Counter inboxFailures;
+    private final Counter sendFailures;
+    private final Counter queueFailures;
+
+    public NotificationDelivery(
+            NotificationInbox notificationInbox,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.delivery.pool-size:1}") int poolSize,
+            @Value("${notifications.delivery.queue-capacity:1000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.notificationInbox = notificationInbox;
+        this.inboxFailures = failureCounter(meterRegistry, "inbox");
+        this.sendFailures = failureCounter(meterRegistry, "send");
+        this.queueFailures = failureCounter(meterRegistry, "queue");
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("notification-").getVirtualThreadFactory());
+        }
+        // Backpressure: when the queue is full the committing thread waits for room. It must not
+        // deliver itself: after commit its finished transaction is still bound to the thread
+        executor.setRejectedExecutionHandler(this::awaitRoom);
+        // Notifications already committed are still recorded on shutdown
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+
+        meterRegistry.gauge("notifications.delivery.queued", executor,
+                pool -> pool.getThreadPoolExecutor().getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Agenda a gravacao para os usuarios e, em seguida, o envio; dentro de uma transacao, so apos o commit
+     */
+    public void deliver(Collection<Long> userIds, NotificationResponse notification,
+                        Consumer<NotificationResponse> send) {
+        List<Long> recipients = List.copyOf(userIds);
+        Runnable delivery = () -> recordAndSend(recipients, notification, send);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(delivery);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(delivery);
+            }
+        });
+    }
+
+    private void awaitRoom(Runnable delivery, ThreadPoolExecutor pool) {
+        try {
+            while (!pool.isShutdown()) {
+                if (pool.getQueue().offer(delivery, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queueFailures.increment();
+        log.warn("Notification delivery stopped, dropping a notification");
+    }
+
+    private void recordAndSend(List<Long> userIds, NotificationResponse notification,
+                               Consumer<NotificationResponse> send) {
+        try {
+            notificationInbox.record(userIds, notification);
+        } catch (RuntimeException e) {
+            inboxFailures.increment();
+            log.warn("Failed to record {} notification for {} users", notification.getType(), userIds.size(), e);
+        }
+        try {
+            send.accept(notification);
+        } catch (RuntimeException e) {
+            sendFailures.increment();
+            log.warn("Failed to send {} notification to {} users", notification.getType(), userIds.size(), e);
+        }
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("notifications.delivery.failures")
+                .description("Notifications that could not be queued, recorded in the inbox or sent")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
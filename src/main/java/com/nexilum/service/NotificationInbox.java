@@ -0,0 +1,173 @@
+package com.nexilum.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexilum.dto.response.NotificationReplayResponse;
+import com.nexilum.dto.response.NotificationResponse;
+import com.nexilum.entity.StoredNotification;
+import com.nexilum.entity.User;
+import com.nexilum.repository.NotificationInboxEntryRepository;
+import com.nexilum.repository.StoredNotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caixa de notificacoes persistida por usuario.
+ * Toda notificacao enviada e gravada com um id de sequencia crescente; um cliente que reconecta
+ * informa o ultimo id recebido (header "since" no CONNECT) e recebe o que perdeu num unico frame
+ * ao assinar /user/queue/notifications/replay.
+ */
+@Slf4j
+@Service
+public class NotificationInbox {
+
+    public static final String SINCE_HEADER = "since";
+    public static final String SINCE_ATTRIBUTE = "notifications.since";
+    public static final String REPLAY_DESTINATION = "/queue/notifications/replay";
+
+    private final StoredNotificationRepository storedNotificationRepository;
+    private final NotificationInboxEntryRepository notificationInboxEntryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final int replayLimit;
+    private final Duration retention;
+
+    public NotificationInbox(
+            StoredNotificationRepository storedNotificationRepository,
+            NotificationInboxEntryRepository notificationInboxEntryRepository,
+            JdbcTemplate jdbcTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            ObjectMapper objectMapper,
+            @Value("${notifications.inbox.replay-limit:200}") int replayLimit,
+            @Value("${notifications.inbox.retention:P30D}") Duration retention
+    ) {
+        this.storedNotificationRepository = storedNotificationRepository;
+        this.notificationInboxEntryRepository = notificationInboxEntryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.replayLimit = replayLimit;
+        this.retention = retention;
+    }
+
+    /**
+     * Grava a notificacao para os usuarios e preenche o seq dela.
+     * Sempre em transacao propria: chamada apos o commit de quem notifica, nao pode juntar-se a ela
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public NotificationResponse record(Collection<Long> userIds, NotificationResponse notification) {
+        StoredNotification stored = storedNotificationRepository.save(StoredNotification.builder()
+                .type(notification.getType().name())
+                .payload(toJson(notification))
+                .build());
+
+        Timestamp createdAt = Timestamp.valueOf(stored.getCreatedAt());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{userId, stored.getId(), createdAt});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification_inbox (user_id, notification_id, created_at) VALUES (?, ?, ?)", rows);
+
+        notification.setSeq(stored.getId());
+        return notification;
+    }
+
+    /**
+     * Notificacoes do usuario posteriores ao cursor (limitadas a replay-limit)
+     */
+    @Transactional(readOnly = true)
+    public NotificationReplayResponse since(Long userId, long since) {
+        List<StoredNotification> rows = storedNotificationRepository.findInboxSince(
+                userId, since, PageRequest.of(0, replayLimit + 1));
+        boolean hasMore = rows.size() > replayLimit;
+        List<StoredNotification> page = hasMore ? rows.subList(0, replayLimit) : rows;
+
+        List<NotificationResponse> notifications = new ArrayList<>(page.size());
+        for (StoredNotification row : page) {
+            NotificationResponse notification = fromJson(row.getPayload());
+            notification.setSeq(row.getId());
+            notifications.add(notification);
+        }
+
+        return NotificationReplayResponse.builder()
+                .notifications(notifications)
+                .lastSeq(page.isEmpty() ? since : page.get(page.size() - 1).getId())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Ao assinar o destino de replay, envia para esta sessao o que foi perdido desde o cursor do CONNECT
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.endsWith(REPLAY_DESTINATION)) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Object since = attributes != null ? attributes.remove(SINCE_ATTRIBUTE) : null;
+        if (!(since instanceof Long cursor)
+                || !(event.getUser() instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof User user)) {
+            return;
+        }
+
+        NotificationReplayResponse replay = since(user.getId(), cursor);
+
+        // Target only the reconnecting session, not every session of the user
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(accessor.getSessionId());
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(user.getEmail(), REPLAY_DESTINATION, replay, headers.getMessageHeaders());
+        log.debug("Replayed {} notifications to user {} since {}", replay.getNotifications().size(), user.getId(), cursor);
+    }
+
+    @Scheduled(cron = "${notifications.inbox.retention-cron:0 15 4 * * *}")
+    @Transactional
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int entries = notificationInboxEntryRepository.deleteCreatedBefore(cutoff);
+        int notifications = storedNotificationRepository.deleteCreatedBefore(cutoff);
+        log.info("Pruned {} inbox entries and {} notifications older than {}", entries, notifications, cutoff);
+    }
+
+    private String toJson(NotificationResponse notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize notification", e);
+        }
+    }
+
+    private NotificationResponse fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, NotificationResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored notification is not readable", e);
+        }
+    }
+}
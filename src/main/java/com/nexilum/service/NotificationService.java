@@ -2,46 +2,69 @@ package com.nexilum.service;
 
 import com.nexilum.dto.response.NotificationResponse;
 import com.nexilum.entity.*;
+import com.nexilum.repository.ProjectRepository;
+import com.nexilum.repository.projection.Recipient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BrokerFanOut brokerFanOut;
+    private final ProjectRepository projectRepository;
+    private final NotificationDelivery notificationDelivery;
+    private final MeterRegistry meterRegistry;
+
+    // Keyed by "target:type"
+    private final Map<String, SendMeters> sendMeters = new ConcurrentHashMap<>();
 
     /**
      * Envia notificacao para um usuario especifico usando email como identificador
      */
     public void sendToUser(User user, NotificationResponse notification) {
-        String destination = "/queue/notifications";
-        messagingTemplate.convertAndSendToUser(
-                user.getEmail(),
-                destination,
-                notification
-        );
-        log.debug("Notification sent to user {}: {}", user.getEmail(), notification.getType());
+        long start = System.nanoTime();
+        String email = user.getEmail();
+        notificationDelivery.deliver(List.of(user.getId()), notification,
+                recorded -> brokerFanOut.sendToUser(email, "/queue/notifications", recorded));
+        log.debug("Notification queued for user {}: {}", email, notification.getType());
+        recordSend("user", notification, 1, start);
     }
 
     /**
      * Envia notificacao para todos os membros de um projeto
      */
     public void sendToProject(Project project, NotificationResponse notification) {
-        // Envia para o owner
-        sendToUser(project.getOwner(), notification);
-        
-        // Envia para todos os membros
-        project.getMembers().forEach(member -> {
-            if (!member.getId().equals(project.getOwner().getId())) {
-                sendToUser(member, notification);
-            }
-        });
-        
-        log.debug("Notification sent to project {}: {}", project.getId(), notification.getType());
+        sendToProject(project.getId(), notification);
+    }
+
+    /**
+     * Envia notificacao para dono e membros do projeto: destinatarios vem de uma projecao
+     * (id, email) e o payload e serializado uma vez so, com entrega em pool dedicado
+     */
+    public void sendToProject(Long projectId, NotificationResponse notification) {
+        long start = System.nanoTime();
+        List<Recipient> found = projectRepository.findRecipients(projectId);
+        if (found.isEmpty()) {
+            return;
+        }
+        List<String> recipients = found.stream().map(Recipient::email).toList();
+        notificationDelivery.deliver(found.stream().map(Recipient::userId).toList(), notification,
+                recorded -> brokerFanOut.sendToUsers(recipients, "/queue/notifications", recorded));
+        log.debug("Notification queued for project {} ({} recipients): {}",
+                projectId, recipients.size(), notification.getType());
+        recordSend("project", notification, recipients.size(), start);
     }
 
     /**
@@ -156,12 +179,42 @@ public class NotificationService {
      */
     public void broadcastToProjectChannel(Long projectId, String event, Object payload) {
         String destination = "/topic/project/" + projectId;
-        messagingTemplate.convertAndSend(destination, new ProjectEvent(event, payload));
+        brokerFanOut.send(destination, new ProjectEvent(event, payload));
         log.debug("Broadcast to project {}: {}", projectId, event);
     }
 
+    /**
+     * Metricas do envio na thread de quem notifica (repasse ao NotificationDelivery);
+     * a entrega em lote, assincrona, e medida em websocket.fanout.delivery
+     */
+    private void recordSend(String target, NotificationResponse notification, int recipients, long start) {
+        String type = String.valueOf(notification.getType());
+        SendMeters meters = sendMeters.computeIfAbsent(target + ":" + type, key -> registerSendMeters(target, type));
+        meters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meters.sent().increment(recipients);
+        meters.fanOutSize().record(recipients);
+    }
+
+    private SendMeters registerSendMeters(String target, String type) {
+        return new SendMeters(
+                Timer.builder("notifications.send")
+                        .description("Time to hand off a notification for recording and delivery")
+                        .tags("target", target, "type", type)
+                        .register(meterRegistry),
+                Counter.builder("notifications.sent")
+                        .description("Notifications sent, one per recipient")
+                        .tags("target", target, "type", type)
+                        .register(meterRegistry),
+                DistributionSummary.builder("notifications.fanout.size")
+                        .description("Recipients per notification")
+                        .tag("target", target)
+                        .register(meterRegistry));
+    }
+
     /**
      * Wrapper para eventos de projeto
      */
     public record ProjectEvent(String event, Object payload) {}
+
+    private record SendMeters(Timer timer, Counter sent, DistributionSummary fanOutSize) {}
 }
@@ -0,0 +1,33 @@
+package com.nexilum.service;
+
+import com.nexilum.repository.DataMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executa backfills de dados uma unica vez, registrando-os em data_migrations.
+ * Dois nos subindo juntos podem executar o mesmo trabalho, que por isso deve ser idempotente.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OneOffMigrations {
+
+    private final DataMigrationRepository dataMigrationRepository;
+
+    /**
+     * Executa o trabalho se a migracao ainda nao foi registrada
+     *
+     * @return true se o trabalho foi executado
+     */
+    public boolean runOnce(String name, Runnable work) {
+        if (dataMigrationRepository.existsById(name)) {
+            return false;
+        }
+        log.info("Running data migration {}", name);
+        work.run();
+        dataMigrationRepository.markApplied(name);
+        return true;
+    }
+}
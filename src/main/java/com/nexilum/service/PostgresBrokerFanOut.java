@@ -0,0 +1,191 @@
+package com.nexilum.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexilum.config.WebSocketProperties;
+import com.nexilum.entity.FanOutPayload;
+import com.nexilum.repository.FanOutPayloadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fan-out entre nos via LISTEN/NOTIFY do Postgres.
+ * Cada envio vira um NOTIFY; todos os nos, inclusive o que enviou, escutam o canal numa conexao
+ * dedicada e entregam a mensagem ao seu broker local.
+ * Dentro de uma transacao de escrita o NOTIFY usa a propria conexao dela: o Postgres so o entrega
+ * no commit e o descarta no rollback. Fora dela, vai numa conexao sem transacao.
+ * Nao chamar de callbacks afterCommit: ali a transacao encerrada ainda esta ligada a thread.
+ * Corpos acima do limite do NOTIFY vao para ws_fanout_payloads e seguem por referencia.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "postgres")
+public class PostgresBrokerFanOut implements BrokerFanOut, SmartLifecycle {
+
+    // NOTIFY payloads must stay under 8000 bytes; leave room for the envelope
+    private static final int INLINE_LIMIT_BYTES = 7000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserMessageDispatcher userMessageDispatcher;
+    private final FanOutPayloadRepository fanOutPayloadRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final WebSocketProperties.Postgres settings;
+    private final PostgresChannelListener listener;
+
+    private volatile boolean running;
+
+    public PostgresBrokerFanOut(
+            SimpMessagingTemplate messagingTemplate,
+            UserMessageDispatcher userMessageDispatcher,
+            FanOutPayloadRepository fanOutPayloadRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            WebSocketProperties properties
+    ) {
+        this.messagingTemplate = messagingTemplate;
+        this.userMessageDispatcher = userMessageDispatcher;
+        this.fanOutPayloadRepository = fanOutPayloadRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.objectMapper = objectMapper;
+        this.settings = properties.getPostgres();
+        this.listener = new PostgresChannelListener(dataSourceProperties, settings.getChannel(),
+                settings.getPollTimeout(), settings.getReconnectDelay(), this::deliver);
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        publish(destination, null, payload);
+    }
+
+    @Override
+    public void sendToUser(String user, String destination, Object payload) {
+        publish(UserMessageDispatcher.userDestination(user, destination), null, payload);
+    }
+
+    @Override
+    public void sendToUsers(Collection<String> users, String destination, Object payload) {
+        // One notification carries the recipient list; each node expands it locally
+        publish(destination, List.copyOf(users), payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener.start("ws-fanout-listener");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.broker.postgres.cleanup-interval:PT1M}")
+    public void cleanupPayloads() {
+        int removed = fanOutPayloadRepository.deleteCreatedBefore(LocalDateTime.now().minus(settings.getPayloadRetention()));
+        if (removed > 0) {
+            log.debug("Removed {} expired fan-out payloads", removed);
+        }
+    }
+
+    private void publish(String destination, List<String> users, Object payload) {
+        String notification;
+        try {
+            notification = objectMapper.writeValueAsString(
+                    new Envelope(destination, users, objectMapper.valueToTree(payload), null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize message for " + destination, e);
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // NOTIFY is transactional: queued with the sender's work, delivered on its commit
+            pgNotify(destination, notification);
+            return;
+        }
+        try {
+            // No transaction to ride on (or a read-only one): plain autocommit statements
+            transactionTemplate.executeWithoutResult(status -> pgNotify(destination, notification));
+        } catch (RuntimeException e) {
+            log.error("Failed to publish WebSocket message to {}", destination, e);
+        }
+    }
+
+    private void pgNotify(String destination, String notification) {
+        String body = notification;
+        if (body.getBytes(StandardCharsets.UTF_8).length > INLINE_LIMIT_BYTES) {
+            FanOutPayload stored = fanOutPayloadRepository.save(FanOutPayload.builder().body(body).build());
+            body = toJson(new Envelope(destination, null, null, stored.getId()));
+        }
+        String channelPayload = body;
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, settings.getChannel());
+            ps.setString(2, channelPayload);
+            return ps.execute();
+        });
+    }
+
+    private void deliver(String notification) {
+        try {
+            Envelope envelope = objectMapper.readValue(notification, Envelope.class);
+            if (envelope.ref() != null) {
+                FanOutPayload stored = fanOutPayloadRepository.findById(envelope.ref()).orElse(null);
+                if (stored == null) {
+                    log.warn("Fan-out payload {} for {} is gone", envelope.ref(), envelope.destination());
+                    return;
+                }
+                envelope = objectMapper.readValue(stored.getBody(), Envelope.class);
+            }
+
+            // Already JSON: hand the bytes to the local broker without converting again
+            Message<byte[]> message = userMessageDispatcher.jsonMessage(objectMapper.writeValueAsBytes(envelope.body()));
+            if (envelope.users() != null) {
+                userMessageDispatcher.sendToUsers(envelope.users(), envelope.destination(), message);
+            } else {
+                messagingTemplate.send(envelope.destination(), message);
+            }
+        } catch (Exception e) {
+            log.error("Failed to deliver fan-out message", e);
+        }
+    }
+
+    private String toJson(Envelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Envelope(String destination, List<String> users, JsonNode body, Long ref) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.nexilum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Escuta um canal do Postgres (LISTEN) numa conexao dedicada, fora do pool, e repassa
+ * o payload de cada NOTIFY ao handler. Reconecta sozinha se a conexao cair.
+ */
+@Slf4j
+class PostgresChannelListener {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Consumer<String> handler;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    PostgresChannelListener(
+            DataSourceProperties dataSourceProperties,
+            String channel,
+            Duration pollTimeout,
+            Duration reconnectDelay,
+            Consumer<String> handler
+    ) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid Postgres channel name: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.handler = handler;
+    }
+
+    void start(String threadName) {
+        running = true;
+        thread = new Thread(this::listenLoop, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening on Postgres channel {}", channel);
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                int timeoutMillis = (int) pollTimeout.toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handler.accept(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Listener on channel {} lost its connection, retrying in {}", channel, reconnectDelay, e);
+                    sleep(reconnectDelay);
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close listener connection", e);
+        }
+    }
+}
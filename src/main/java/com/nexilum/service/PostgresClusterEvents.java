@@ -0,0 +1,140 @@
+package com.nexilum.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexilum.config.WebSocketProperties;
+import com.nexilum.event.ClusterEvent;
+import com.nexilum.event.PointsChangedEvent;
+import com.nexilum.event.ProjectMembershipChangedEvent;
+import com.nexilum.event.UserUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repassa entre nos, via LISTEN/NOTIFY, os eventos que invalidam caches locais (ClusterEvent).
+ * O NOTIFY sai na transacao de quem publicou o evento, entao so e entregue se ela fizer commit;
+ * os outros nos republicam o evento localmente e seus caches o tratam como um evento proprio.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "postgres")
+public class PostgresClusterEvents implements SmartLifecycle {
+
+    // Only these types are accepted from the channel
+    private static final Map<String, Class<? extends ClusterEvent>> TYPES = Map.of(
+            UserUpdatedEvent.class.getSimpleName(), UserUpdatedEvent.class,
+            ProjectMembershipChangedEvent.class.getSimpleName(), ProjectMembershipChangedEvent.class
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final PostgresChannelListener listener;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Set while a remote event is republished, so it is not relayed back
+    private final ThreadLocal<Boolean> republishing = ThreadLocal.withInitial(() -> false);
+
+    private volatile boolean running;
+
+    public PostgresClusterEvents(
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            WebSocketProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        WebSocketProperties.Postgres settings = properties.getPostgres();
+        this.channel = settings.getEventsChannel();
+        this.listener = new PostgresChannelListener(dataSourceProperties, channel,
+                settings.getPollTimeout(), settings.getReconnectDelay(), this::receive);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onClusterEvent(ClusterEvent event) {
+        if (!republishing.get()) {
+            publish(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPointsChanged(PointsChangedEvent event) {
+        // Other nodes only need to drop their cached principal
+        publish(new UserUpdatedEvent(event.userId(), event.email()));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener.start("cluster-events-listener");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish(ClusterEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(
+                    new Envelope(nodeId, event.getClass().getSimpleName(), objectMapper.valueToTree(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize " + event, e);
+        }
+        // Runs in the publisher's transaction: Postgres delivers it on commit, drops it on rollback
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, channel);
+            ps.setString(2, payload);
+            return ps.execute();
+        });
+    }
+
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                // Local listeners already handled it
+                return;
+            }
+            Class<? extends ClusterEvent> type = TYPES.get(envelope.type());
+            if (type == null) {
+                log.warn("Ignoring unknown cluster event type {}", envelope.type());
+                return;
+            }
+            ClusterEvent event = objectMapper.treeToValue(envelope.event(), type);
+            republishing.set(true);
+            try {
+                eventPublisher.publishEvent(event);
+            } finally {
+                republishing.remove();
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply cluster event", e);
+        }
+    }
+
+    private record Envelope(String origin, String type, JsonNode event) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.nexilum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexilum.entity.Project;
+import com.nexilum.entity.User;
+import com.nexilum.event.ProjectMembershipChangedEvent;
+import com.nexilum.exception.ForbiddenException;
+import com.nexilum.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifica se um usuario tem acesso a um projeto (dono ou membro).
+ * Usa a consulta indexada de membership, sem carregar a colecao de membros,
+ * e guarda o resultado por (projeto, usuario) ate a membership mudar (em qualquer no)
+ * ou o TTL vencer. Consultas que cruzam uma mudanca de membership nao ficam em cache.
+ */
+@Slf4j
+@Service
+public class ProjectAccessService {
+
+    private final ProjectRepository projectRepository;
+    private final Cache<MembershipKey, Boolean> memberships;
+    // Bumped on every membership change; a lookup that overlaps a bump is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProjectAccessService(
+            ProjectRepository projectRepository,
+            @Value("${projects.access-cache.max-size:100000}") long maxSize,
+            @Value("${projects.access-cache.ttl:PT1M}") Duration ttl
+    ) {
+        this.projectRepository = projectRepository;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean hasAccess(Long projectId, Long userId) {
+        MembershipKey key = new MembershipKey(projectId, userId);
+        Boolean cached = memberships.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        boolean member = projectRepository.isUserMemberOfProject(projectId, userId);
+        memberships.put(key, member);
+        if (generation.get() != before) {
+            // A change committed while we were reading; the result may predate it
+            memberships.invalidate(key);
+        }
+        return member;
+    }
+
+    public void validateAccess(Project project, User user) {
+        validateAccess(project.getId(), user);
+    }
+
+    public void validateAccess(Long projectId, User user) {
+        if (!hasAccess(projectId, user.getId())) {
+            throw new ForbiddenException("Você não tem acesso a este projeto");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.userId() != null) {
+            memberships.invalidate(new MembershipKey(event.projectId(), event.userId()));
+        } else {
+            memberships.asMap().keySet().removeIf(key -> key.projectId().equals(event.projectId()));
+        }
+        log.debug("Access cache invalidated for project {} (user {})", event.projectId(), event.userId());
+    }
+
+    private record MembershipKey(Long projectId, Long userId) {
+    }
+}
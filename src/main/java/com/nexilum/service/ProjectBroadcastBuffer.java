@@ -0,0 +1,157 @@
+package com.nexilum.service;
+
+import com.nexilum.event.TaskChangedEvent;
+import com.nexilum.service.NotificationService.ProjectEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer de saida dos eventos de quadro (kanban) por projeto.
+ * Recebe os eventos apos o commit, junta alteracoes da mesma tarefa dentro da janela
+ * (fica so a ultima) e envia um unico frame por projeto a cada flush.
+ * Cada projeto tem um limite de tarefas pendentes; acima dele, eventos de novas tarefas sao descartados.
+ */
+@Slf4j
+@Component
+public class ProjectBroadcastBuffer {
+
+    public static final String BATCH_EVENT = "TASKS_BATCH";
+
+    private final NotificationService notificationService;
+    private final Duration flushInterval;
+    private final int maxPendingPerProject;
+
+    private final ConcurrentMap<Long, Map<Long, ProjectEvent>> pending = new ConcurrentHashMap<>();
+    private final Counter receivedCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter framesCounter;
+
+    private ScheduledExecutorService flusher;
+
+    public ProjectBroadcastBuffer(
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${websocket.broadcast.flush-interval:PT0.05S}") Duration flushInterval,
+            @Value("${websocket.broadcast.max-pending-per-project:1000}") int maxPendingPerProject
+    ) {
+        this.notificationService = notificationService;
+        this.flushInterval = flushInterval;
+        this.maxPendingPerProject = maxPendingPerProject;
+
+        this.receivedCounter = eventCounter(meterRegistry, "received");
+        this.coalescedCounter = eventCounter(meterRegistry, "coalesced");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.framesCounter = Counter.builder("websocket.broadcast.frames")
+                .description("Frames sent to project channels")
+                .register(meterRegistry);
+        meterRegistry.gauge("websocket.broadcast.pending.projects", pending, Map::size);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "project-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(flushInterval.toMillis(), 1);
+        flusher.scheduleWithFixedDelay(this::flushSafely, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flushSafely();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        receivedCounter.increment();
+        while (true) {
+            Map<Long, ProjectEvent> tasks = pending.computeIfAbsent(event.projectId(), id -> new LinkedHashMap<>());
+            synchronized (tasks) {
+                if (pending.get(event.projectId()) != tasks) {
+                    // Flush retired this map after we looked it up; use the new one
+                    continue;
+                }
+                if (tasks.remove(event.taskId()) != null) {
+                    // Re-inserted below so the task keeps its position relative to newer events
+                    coalescedCounter.increment();
+                } else if (tasks.size() >= maxPendingPerProject) {
+                    droppedCounter.increment();
+                    log.warn("Broadcast buffer for project {} is full, dropping {} for task {}",
+                            event.projectId(), event.event(), event.taskId());
+                    return;
+                }
+                tasks.put(event.taskId(), new ProjectEvent(event.event(), event.payload()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Envia os eventos pendentes de todos os projetos
+     */
+    public void flush() {
+        for (Long projectId : pending.keySet()) {
+            Map<Long, ProjectEvent> tasks = pending.get(projectId);
+            if (tasks == null) {
+                continue;
+            }
+            List<ProjectEvent> events;
+            synchronized (tasks) {
+                if (tasks.isEmpty()) {
+                    // Idle project: retire the map (producers re-check it under the lock)
+                    pending.remove(projectId, tasks);
+                    continue;
+                }
+                events = new ArrayList<>(tasks.values());
+                tasks.clear();
+            }
+            send(projectId, events);
+        }
+    }
+
+    private void send(Long projectId, List<ProjectEvent> events) {
+        if (events.size() == 1) {
+            ProjectEvent single = events.get(0);
+            notificationService.broadcastToProjectChannel(projectId, single.event(), single.payload());
+        } else {
+            notificationService.broadcastToProjectChannel(projectId, BATCH_EVENT, events);
+        }
+        framesCounter.increment();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush project broadcasts", e);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("websocket.broadcast.events")
+                .description("Task events handed to the project broadcast buffer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
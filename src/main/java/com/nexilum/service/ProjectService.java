@@ -4,20 +4,27 @@ import com.nexilum.dto.request.ProjectRequest;
 import com.nexilum.dto.response.ProjectResponse;
 import com.nexilum.entity.Project;
 import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.event.ProjectMembershipChangedEvent;
+import com.nexilum.event.UserActionEvent;
 import com.nexilum.exception.ForbiddenException;
 import com.nexilum.exception.ResourceNotFoundException;
 import com.nexilum.repository.ProjectRepository;
 import com.nexilum.repository.TaskRepository;
 import com.nexilum.repository.UserRepository;
+import com.nexilum.repository.projection.ProjectStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +37,8 @@ public class ProjectService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectAccessService projectAccessService;
 
     public ProjectResponse create(ProjectRequest request, User owner) {
         log.debug("Creating project '{}' for user {}", request.getName(), owner.getEmail());
@@ -44,6 +53,7 @@ public class ProjectService {
 
         project.addMember(owner);
         Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(UserActionEvent.of(owner, ActionType.PROJECT_CREATED));
 
         log.info("Project '{}' created with ID {}", saved.getName(), saved.getId());
         return ProjectResponse.fromEntity(saved);
@@ -52,7 +62,7 @@ public class ProjectService {
     @Transactional(readOnly = true)
     public ProjectResponse findById(Long id, User currentUser) {
         Project project = getProjectOrThrow(id);
-        validateUserAccess(project, currentUser);
+        projectAccessService.validateAccess(project, currentUser);
 
         Long taskCount = taskRepository.countByProjectId(id);
         Long completedTaskCount = taskRepository.countByProjectIdAndStatus(id, TaskStatus.DONE);
@@ -64,13 +74,11 @@ public class ProjectService {
     public List<ProjectResponse> findAllByUser(User user) {
         log.debug("Finding all projects for user {}", user.getEmail());
 
-        return projectRepository.findAllByUserId(user.getId())
-                .stream()
-                .map(project -> {
-                    Long taskCount = taskRepository.countByProjectId(project.getId());
-                    Long completedTaskCount = taskRepository.countByProjectIdAndStatus(project.getId(), TaskStatus.DONE);
-                    return ProjectResponse.fromEntityWithStats(project, taskCount, completedTaskCount);
-                })
+        List<Project> projects = projectRepository.findAllWithOwnerByUserId(user.getId());
+        Map<Long, ProjectStats> stats = loadStats(projects);
+
+        return projects.stream()
+                .map(project -> ProjectResponse.fromEntityWithStats(project, statsOf(stats, project)))
                 .collect(Collectors.toList());
     }
 
@@ -78,12 +86,10 @@ public class ProjectService {
     public Page<ProjectResponse> findAllByUserPaginated(User user, Pageable pageable) {
         log.debug("Finding all projects for user {} with pagination", user.getEmail());
 
-        return projectRepository.findAllByUserId(user.getId(), pageable)
-                .map(project -> {
-                    Long taskCount = taskRepository.countByProjectId(project.getId());
-                    Long completedTaskCount = taskRepository.countByProjectIdAndStatus(project.getId(), TaskStatus.DONE);
-                    return ProjectResponse.fromEntityWithStats(project, taskCount, completedTaskCount);
-                });
+        Page<Project> projects = projectRepository.findAllWithOwnerByUserId(user.getId(), pageable);
+        Map<Long, ProjectStats> stats = loadStats(projects.getContent());
+
+        return projects.map(project -> ProjectResponse.fromEntityWithStats(project, statsOf(stats, project)));
     }
 
     public ProjectResponse update(Long id, ProjectRequest request, User currentUser) {
@@ -111,7 +117,12 @@ public class ProjectService {
         validateOwnerAccess(project, currentUser);
 
         log.debug("Deleting project {} by user {}", id, currentUser.getEmail());
+        List<User> members = List.copyOf(project.getMembers());
         projectRepository.delete(project);
+        // Every member (the owner included) leaves the project, for the badge counters too
+        members.forEach(member ->
+                eventPublisher.publishEvent(UserActionEvent.reverted(member, ActionType.PROJECT_MEMBER_REMOVED)));
+        eventPublisher.publishEvent(ProjectMembershipChangedEvent.allMembers(id));
         log.info("Project {} deleted successfully", id);
     }
 
@@ -129,6 +140,8 @@ public class ProjectService {
 
         project.addMember(newMember);
         Project updated = projectRepository.save(project);
+        eventPublisher.publishEvent(UserActionEvent.of(newMember, ActionType.PROJECT_MEMBER_ADDED));
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, userId));
 
         log.info("User {} added to project {}", userId, projectId);
         
@@ -149,26 +162,36 @@ public class ProjectService {
         User member = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", userId));
 
+        boolean wasMember = project.getMembers().contains(member);
         project.removeMember(member);
         Project updated = projectRepository.save(project);
+        if (wasMember) {
+            eventPublisher.publishEvent(UserActionEvent.reverted(member, ActionType.PROJECT_MEMBER_REMOVED));
+            eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, userId));
+        }
 
         log.info("User {} removed from project {}", userId, projectId);
         return ProjectResponse.fromEntity(updated);
     }
 
     // Helper methods
-    private Project getProjectOrThrow(Long id) {
-        return projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", id));
+    private Map<Long, ProjectStats> loadStats(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = projects.stream().map(Project::getId).toList();
+        return projectRepository.findStatsByProjectIds(ids)
+                .stream()
+                .collect(Collectors.toMap(ProjectStats::projectId, Function.identity()));
     }
 
-    private void validateUserAccess(Project project, User user) {
-        boolean hasAccess = project.getOwner().getId().equals(user.getId()) ||
-                project.getMembers().stream().anyMatch(m -> m.getId().equals(user.getId()));
+    private ProjectStats statsOf(Map<Long, ProjectStats> stats, Project project) {
+        return stats.getOrDefault(project.getId(), ProjectStats.empty(project.getId()));
+    }
 
-        if (!hasAccess) {
-            throw new ForbiddenException("Você não tem acesso a este projeto");
-        }
+    private Project getProjectOrThrow(Long id) {
+        return projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", id));
     }
 
     private void validateOwnerAccess(Project project, User user) {
@@ -0,0 +1,256 @@
+package com.nexilum.service;
+
+import com.nexilum.event.PointsChangedEvent;
+import com.nexilum.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice em memoria do ranking global (arvore de estatistica de ordem).
+ * Ordena por (totalPoints DESC, id ASC) e responde posicao e top N em O(log n)
+ * sem ida ao banco. E reconstruido a partir da tabela users na inicializacao.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankingIndex {
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> pointsByUser = new HashMap<>();
+    private Node root;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = userRepository.findAllIdAndTotalPoints();
+
+        lock.writeLock().lock();
+        try {
+            root = null;
+            pointsByUser.clear();
+            for (Object[] row : rows) {
+                insertUnlocked((Long) row[0], (Integer) row[1]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Ranking index rebuilt with {} users", rows.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPointsChanged(PointsChangedEvent event) {
+        update(event.userId(), event.totalPoints());
+    }
+
+    /**
+     * Insere ou reposiciona o usuario com o total de pontos informado
+     */
+    public void update(Long userId, int totalPoints) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByUser.get(userId);
+            if (current != null) {
+                if (current == totalPoints) {
+                    return;
+                }
+                root = delete(root, current, userId);
+            }
+            insertUnlocked(userId, totalPoints);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByUser.remove(userId);
+            if (current != null) {
+                root = delete(root, current, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a posicao (1-based) do usuario no ranking global, ou null se ausente
+     */
+    public Integer rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Integer points = pointsByUser.get(userId);
+            if (points == null) {
+                return null;
+            }
+            return countBefore(points, userId) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Integer pointsOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            return pointsByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dos primeiros usuarios do ranking, em ordem
+     */
+    public List<Long> topUserIds(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>(Math.min(Math.max(limit, 0), pointsByUser.size()));
+            collect(root, limit, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pointsByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Treap helpers (caller must hold the appropriate lock)
+
+    private void insertUnlocked(Long userId, int totalPoints) {
+        pointsByUser.put(userId, totalPoints);
+        Node node = new Node(userId, totalPoints);
+        Node[] parts = split(root, totalPoints, userId);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private int countBefore(int points, long userId) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.points, node.userId, points, userId) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private void collect(Node node, int limit, List<Long> result) {
+        if (node == null || result.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, result);
+        if (result.size() < limit) {
+            result.add(node.userId);
+            collect(node.right, limit, result);
+        }
+    }
+
+    /**
+     * Divide a arvore em [chaves antes de (points, userId)] e [demais chaves]
+     */
+    private Node[] split(Node node, int points, long userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.points, node.userId, points, userId) < 0) {
+            Node[] parts = split(node.right, points, userId);
+            node.right = parts[0];
+            node.recalculate();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, points, userId);
+        node.left = parts[1];
+        node.recalculate();
+        return new Node[]{parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.recalculate();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.recalculate();
+        return right;
+    }
+
+    private Node delete(Node node, int points, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(points, userId, node.points, node.userId);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, points, userId);
+        } else {
+            node.right = delete(node.right, points, userId);
+        }
+        node.recalculate();
+        return node;
+    }
+
+    private static int compare(int pointsA, long userA, int pointsB, long userB) {
+        if (pointsA != pointsB) {
+            return Integer.compare(pointsB, pointsA);
+        }
+        return Long.compare(userA, userB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final int points;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, int points) {
+            this.userId = userId;
+            this.points = points;
+        }
+
+        private void recalculate() {
+            size = 1 + RankingIndex.size(left) + RankingIndex.size(right);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexilum.service;
+
+import com.nexilum.enums.ReportFormat;
+import com.nexilum.enums.ReportJobStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pedido de geracao de relatorio. O artefato fica em disco, identificado por artifactKey.
+ */
+@Getter
+public class ReportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long projectId;
+    private final ReportFormat format;
+    private final String artifactKey;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile ReportJobStatus status = ReportJobStatus.PENDING;
+    private volatile Path artifact;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    ReportJob(Long projectId, ReportFormat format, String artifactKey) {
+        this.projectId = projectId;
+        this.format = format;
+        this.artifactKey = artifactKey;
+    }
+
+    void markRunning() {
+        this.status = ReportJobStatus.RUNNING;
+    }
+
+    void markCompleted(Path artifact) {
+        this.artifact = artifact;
+        this.finishedAt = LocalDateTime.now();
+        this.status = ReportJobStatus.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = ReportJobStatus.FAILED;
+    }
+}
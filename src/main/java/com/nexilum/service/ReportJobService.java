@@ -0,0 +1,257 @@
+package com.nexilum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ReportFormat;
+import com.nexilum.enums.ReportJobStatus;
+import com.nexilum.exception.BadRequestException;
+import com.nexilum.exception.ResourceNotFoundException;
+import com.nexilum.exception.ServiceUnavailableException;
+import com.nexilum.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Geracao assincrona de relatorios.
+ * Os pedidos viram jobs executados num pool proprio com fila limitada (fila cheia = 503);
+ * o arquivo gerado fica em disco com chave (projeto, formato, marca d'agua do projeto),
+ * entao pedidos repetidos para um projeto que nao mudou reaproveitam o arquivo.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private final ReportService reportService;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService projectAccessService;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final Path storageDir;
+    private final Duration artifactTtl;
+
+    private final Cache<String, ReportJob> jobs;
+    // Jobs currently rendering, by artifact key, so identical requests share one render
+    private final ConcurrentMap<String, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    public ReportJobService(
+            ReportService reportService,
+            ProjectRepository projectRepository,
+            ProjectAccessService projectAccessService,
+            @Value("${reports.jobs.pool-size:2}") int poolSize,
+            @Value("${reports.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${reports.jobs.storage-dir:${java.io.tmpdir}/nexilum-reports}") Path storageDir,
+            @Value("${reports.jobs.artifact-ttl:PT24H}") Duration artifactTtl,
+            @Value("${reports.jobs.job-ttl:PT1H}") Duration jobTtl,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.reportService = reportService;
+        this.projectRepository = projectRepository;
+        this.projectAccessService = projectAccessService;
+        this.reportExecutor = createExecutor(poolSize, queueCapacity, virtualThreads);
+        this.storageDir = storageDir;
+        this.artifactTtl = artifactTtl;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobTtl)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reportExecutor.shutdown();
+    }
+
+    /**
+     * Registra um pedido de relatorio e retorna o job (ja concluido se houver arquivo valido em cache)
+     */
+    public ReportJob submit(Long projectId, ReportFormat format, User currentUser) {
+        reportService.validateAccess(projectId, currentUser);
+
+        String artifactKey = artifactKey(projectId, format);
+        Path artifact = artifactPath(projectId, artifactKey, format);
+
+        if (Files.exists(artifact)) {
+            ReportJob job = new ReportJob(projectId, format, artifactKey);
+            job.markCompleted(artifact);
+            jobs.put(job.getId(), job);
+            log.debug("Report {} served from cached artifact", artifactKey);
+            return job;
+        }
+
+        ReportJob job = new ReportJob(projectId, format, artifactKey);
+        ReportJob running = inFlight.putIfAbsent(artifactKey, job);
+        if (running != null) {
+            return running;
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            reportExecutor.execute(() -> render(job, artifact));
+        } catch (TaskRejectedException e) {
+            inFlight.remove(artifactKey, job);
+            jobs.invalidate(job.getId());
+            log.warn("Report queue is full, rejecting {}", artifactKey);
+            throw new ServiceUnavailableException("Muitos relatorios em geracao. Tente novamente em instantes");
+        }
+
+        log.info("Report job {} queued for project {} ({})", job.getId(), projectId, format);
+        return job;
+    }
+
+    public ReportJob getJob(String jobId, User currentUser) {
+        ReportJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Relatorio", "id", jobId);
+        }
+        projectAccessService.validateAccess(job.getProjectId(), currentUser);
+        return job;
+    }
+
+    /**
+     * Retorna o arquivo de um job concluido
+     */
+    public Path getArtifact(String jobId, User currentUser) {
+        ReportJob job = getJob(jobId, currentUser);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new BadRequestException("Relatorio ainda nao esta pronto");
+        }
+        if (!Files.exists(job.getArtifact())) {
+            throw new ResourceNotFoundException("Relatorio", "id", jobId);
+        }
+        return job.getArtifact();
+    }
+
+    /**
+     * Remove arquivos de relatorio mais antigos que o TTL
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval:PT30M}")
+    public void cleanupArtifacts() {
+        if (!Files.isDirectory(storageDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(artifactTtl);
+        try (Stream<Path> files = Files.walk(storageDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean up report artifacts in {}", storageDir, e);
+        }
+    }
+
+    private void render(ReportJob job, Path artifact) {
+        job.markRunning();
+        Path tmp = null;
+        try {
+            Files.createDirectories(artifact.getParent());
+            tmp = Files.createTempFile(artifact.getParent(), "render-", ".tmp");
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                switch (job.getFormat()) {
+                    case PDF -> reportService.writeProjectReportPdf(job.getProjectId(), out);
+                    case CSV -> reportService.writeProjectReportCsv(job.getProjectId(), out);
+                }
+            }
+
+            Files.move(tmp, artifact, StandardCopyOption.ATOMIC_MOVE);
+            deleteSupersededArtifacts(artifact, job.getFormat());
+            job.markCompleted(artifact);
+            log.info("Report job {} completed: {}", job.getId(), artifact.getFileName());
+        } catch (Exception e) {
+            log.error("Report job {} failed for project {}", job.getId(), job.getProjectId(), e);
+            if (tmp != null) {
+                deleteQuietly(tmp);
+            }
+            job.markFailed("Erro ao gerar relatorio");
+        } finally {
+            inFlight.remove(job.getArtifactKey(), job);
+        }
+    }
+
+    // Not a bean on purpose: a context Executor would replace Boot's applicationTaskExecutor
+    private static ThreadPoolTaskExecutor createExecutor(int poolSize, int queueCapacity, boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        if (virtualThreads) {
+            // Pool size still bounds concurrent renders; only the carrier threads change
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("report-").getVirtualThreadFactory());
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    private String artifactKey(Long projectId, ReportFormat format) {
+        List<Object[]> rows = projectRepository.findReportWatermark(projectId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Projeto", "id", projectId);
+        }
+        Object[] row = rows.get(0);
+        return String.format("%d-%s-%d-%d-%d-%d",
+                projectId,
+                format.getExtension(),
+                epochMillis((LocalDateTime) row[0]),
+                (Long) row[1],
+                epochMillis((LocalDateTime) row[2]),
+                (Long) row[3]);
+    }
+
+    private Path artifactPath(Long projectId, String artifactKey, ReportFormat format) {
+        return storageDir.resolve("project-" + projectId).resolve(artifactKey + "." + format.getExtension());
+    }
+
+    private void deleteSupersededArtifacts(Path current, ReportFormat format) {
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(current.getParent(), "*." + format.getExtension())) {
+            for (Path sibling : siblings) {
+                if (!sibling.equals(current)) {
+                    deleteQuietly(sibling);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove superseded reports next to {}", current, e);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : Timestamp.valueOf(dateTime).getTime();
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.now();
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
@@ -11,13 +11,15 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.nexilum.entity.Project;
-import com.nexilum.entity.Task;
 import com.nexilum.entity.User;
 import com.nexilum.enums.TaskStatus;
-import com.nexilum.exception.ForbiddenException;
 import com.nexilum.exception.ResourceNotFoundException;
 import com.nexilum.repository.ProjectRepository;
 import com.nexilum.repository.TaskRepository;
+import com.nexilum.repository.projection.TaskRow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
@@ -25,17 +27,20 @@ import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -45,21 +50,44 @@ public class ReportService {
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final ProjectAccessService projectAccessService;
+    private final MeterRegistry meterRegistry;
+
+    // Keyed by "format:outcome"
+    private final Map<String, RenderMeters> renderMeters = new ConcurrentHashMap<>();
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    private static final DeviceRgb HEADER_COLOR = new DeviceRgb(66, 133, 244);
+    private static final DeviceRgb ROW_COLOR = new DeviceRgb(255, 255, 255);
+    private static final DeviceRgb ALTERNATE_ROW_COLOR = new DeviceRgb(245, 245, 245);
+    private static final DeviceRgb STATUS_TODO_COLOR = new DeviceRgb(158, 158, 158);
+    private static final DeviceRgb STATUS_DOING_COLOR = new DeviceRgb(33, 150, 243);
+    private static final DeviceRgb STATUS_DONE_COLOR = new DeviceRgb(76, 175, 80);
+
+    // Rows buffered in the PDF tasks table before each flush
+    private static final int PDF_FLUSH_ROWS = 200;
+
     /**
-     * Gera relatorio PDF do projeto
+     * Escreve o relatorio PDF do projeto direto no stream.
+     * A tabela de tarefas e gerada em partes (large table), entao a memoria nao cresce com o projeto.
+     * O acesso deve ser validado antes (validateAccess).
      */
-    public byte[] generateProjectReportPdf(Long projectId, User currentUser) {
-        Project project = getProjectAndValidateAccess(projectId, currentUser);
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
+    public void writeProjectReportPdf(Long projectId, OutputStream out) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", projectId));
 
-        log.info("Generating PDF report for project {} by user {}", projectId, currentUser.getId());
+        log.info("Streaming PDF report for project {}", projectId);
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long rows = 0;
+        String outcome = "error";
+        try {
+            PdfWriter writer = new PdfWriter(counted);
+            // Closing the document must not close the response stream
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
@@ -67,43 +95,47 @@ public class ReportService {
             addReportHeader(document, project);
 
             // Summary
-            addProjectSummary(document, project, tasks);
+            long totalTasks = addProjectSummary(document, project);
 
             // Tasks table
-            addTasksTable(document, tasks);
+            rows = addTasksTable(document, projectId, totalTasks);
 
             // Footer
             addReportFooter(document);
 
             document.close();
-
-            log.info("PDF report generated successfully for project {}", projectId);
-            return baos.toByteArray();
-
-        } catch (IOException e) {
-            log.error("Error generating PDF report for project {}", projectId, e);
-            throw new RuntimeException("Erro ao gerar relatorio PDF", e);
+            outcome = "success";
+        } finally {
+            recordRender("pdf", outcome, sample, counted.count, rows);
         }
+        log.info("PDF report streamed for project {} ({} bytes)", projectId, counted.count);
     }
 
     /**
-     * Gera relatorio CSV do projeto
+     * Verifica se o projeto existe e se o usuario tem acesso a ele
      */
-    public byte[] generateProjectReportCsv(Long projectId, User currentUser) {
-        Project project = getProjectAndValidateAccess(projectId, currentUser);
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
+    public void validateAccess(Long projectId, User currentUser) {
+        getProjectAndValidateAccess(projectId, currentUser);
+    }
 
-        log.info("Generating CSV report for project {} by user {}", projectId, currentUser.getId());
+    /**
+     * Escreve o relatorio CSV do projeto direto no stream, linha a linha.
+     * O acesso deve ser validado antes (validateAccess).
+     */
+    public void writeProjectReportCsv(Long projectId, OutputStream out) throws IOException {
+        log.info("Streaming CSV report for project {}", projectId);
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long count = 0;
+        String outcome = "error";
         try {
             // BOM for Excel UTF-8 compatibility
-            baos.write(0xEF);
-            baos.write(0xBB);
-            baos.write(0xBF);
+            counted.write(0xEF);
+            counted.write(0xBB);
+            counted.write(0xBF);
 
-            Writer writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(counted, StandardCharsets.UTF_8));
 
             CSVFormat format = CSVFormat.DEFAULT.builder()
                     .setHeader("ID", "Titulo", "Descricao", "Status", "Prioridade", 
@@ -111,47 +143,46 @@ public class ReportService {
                               "Completado em", "Pontos")
                     .build();
 
+            // The printer is not closed: closing would close the response stream
             CSVPrinter printer = new CSVPrinter(writer, format);
-            
-            for (Task task : tasks) {
-                printer.printRecord(
-                        task.getId(),
-                        task.getTitle(),
-                        task.getDescription() != null ? task.getDescription() : "",
-                        translateStatus(task.getStatus()),
-                        translatePriority(task.getPriority().name()),
-                        task.getAssignee() != null ? task.getAssignee().getName() : "Nao atribuido",
-                        task.getReporter().getName(),
-                        task.getDeadline() != null ? task.getDeadline().format(DATE_FORMATTER) : "",
-                        task.getCreatedAt().format(DATETIME_FORMATTER),
-                        task.getCompletedAt() != null ? task.getCompletedAt().format(DATETIME_FORMATTER) : "",
-                        task.getPointsAwarded()
-                );
+
+            try (Stream<TaskRow> rows = taskRepository.streamRowsByProjectId(projectId)) {
+                Iterator<TaskRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    printCsvRow(printer, iterator.next());
+                    count++;
+                }
             }
-            
+
             printer.flush();
-            writer.flush();
-            
-            log.info("CSV report generated successfully for project {}", projectId);
-            return baos.toByteArray();
-
-        } catch (IOException e) {
-            log.error("Error generating CSV report for project {}", projectId, e);
-            throw new RuntimeException("Erro ao gerar relatorio CSV", e);
+            outcome = "success";
+        } finally {
+            recordRender("csv", outcome, sample, counted.count, count);
         }
+        log.info("CSV report streamed for project {} ({} tasks)", projectId, count);
+    }
+
+    void printCsvRow(CSVPrinter printer, TaskRow task) throws IOException {
+        printer.printRecord(
+                task.id(),
+                task.title(),
+                task.description() != null ? task.description() : "",
+                translateStatus(task.status()),
+                translatePriority(task.priority().name()),
+                task.assigneeName() != null ? task.assigneeName() : "Nao atribuido",
+                task.reporterName(),
+                task.deadline() != null ? task.deadline().format(DATE_FORMATTER) : "",
+                task.createdAt().format(DATETIME_FORMATTER),
+                task.completedAt() != null ? task.completedAt().format(DATETIME_FORMATTER) : "",
+                task.pointsAwarded()
+        );
     }
 
     private Project getProjectAndValidateAccess(Long projectId, User currentUser) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", projectId));
 
-        boolean hasAccess = project.getOwner().getId().equals(currentUser.getId()) ||
-                project.getMembers().stream().anyMatch(m -> m.getId().equals(currentUser.getId()));
-
-        if (!hasAccess) {
-            throw new ForbiddenException("Voce nao tem acesso a este projeto");
-        }
-
+        projectAccessService.validateAccess(project, currentUser);
         return project;
     }
 
@@ -178,20 +209,22 @@ public class ReportService {
         document.add(date);
     }
 
-    private void addProjectSummary(Document document, Project project, List<Task> tasks) {
+    private long addProjectSummary(Document document, Project project) {
         Paragraph summaryTitle = new Paragraph("Resumo")
                 .setFontSize(16)
                 .setBold()
                 .setMarginBottom(10);
         document.add(summaryTitle);
 
-        Map<TaskStatus, Long> tasksByStatus = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus, Collectors.counting()));
+        Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countByStatusForProject(project.getId())) {
+            tasksByStatus.put((TaskStatus) row[0], (Long) row[1]);
+        }
 
         long todo = tasksByStatus.getOrDefault(TaskStatus.TODO, 0L);
         long doing = tasksByStatus.getOrDefault(TaskStatus.DOING, 0L);
         long done = tasksByStatus.getOrDefault(TaskStatus.DONE, 0L);
-        long total = tasks.size();
+        long total = todo + doing + done;
         double completionRate = total > 0 ? (done * 100.0 / total) : 0;
 
         Table summaryTable = new Table(UnitValue.createPercentArray(new float[]{50, 50}))
@@ -203,10 +236,11 @@ public class ReportService {
         addSummaryRow(summaryTable, "Em andamento:", String.valueOf(doing));
         addSummaryRow(summaryTable, "Concluidas:", String.valueOf(done));
         addSummaryRow(summaryTable, "Taxa de conclusao:", String.format("%.1f%%", completionRate));
-        addSummaryRow(summaryTable, "Membros:", String.valueOf(project.getMembers().size()));
+        addSummaryRow(summaryTable, "Membros:", String.valueOf(projectRepository.countMembers(project.getId())));
         addSummaryRow(summaryTable, "Proprietario:", project.getOwner().getName());
 
         document.add(summaryTable);
+        return total;
     }
 
     private void addSummaryRow(Table table, String label, String value) {
@@ -214,7 +248,7 @@ public class ReportService {
         table.addCell(new Cell().add(new Paragraph(value)).setBorder(null));
     }
 
-    private void addTasksTable(Document document, List<Task> tasks) {
+    private long addTasksTable(Document document, Long projectId, long totalTasks) {
         Paragraph tasksTitle = new Paragraph("Tarefas")
                 .setFontSize(16)
                 .setBold()
@@ -222,41 +256,55 @@ public class ReportService {
                 .setMarginBottom(10);
         document.add(tasksTitle);
 
-        if (tasks.isEmpty()) {
+        if (totalTasks == 0) {
             document.add(new Paragraph("Nenhuma tarefa cadastrada.").setItalic());
-            return;
+            return 0;
         }
 
-        Table table = new Table(UnitValue.createPercentArray(new float[]{5, 25, 12, 12, 18, 13, 15}))
+        Table table = new Table(UnitValue.createPercentArray(new float[]{5, 25, 12, 12, 18, 13, 15}), true)
                 .setWidth(UnitValue.createPercentValue(100));
 
         // Header
-        DeviceRgb headerColor = new DeviceRgb(66, 133, 244);
-        addTableHeader(table, "ID", headerColor);
-        addTableHeader(table, "Titulo", headerColor);
-        addTableHeader(table, "Status", headerColor);
-        addTableHeader(table, "Prioridade", headerColor);
-        addTableHeader(table, "Responsavel", headerColor);
-        addTableHeader(table, "Deadline", headerColor);
-        addTableHeader(table, "Criado em", headerColor);
+        addTableHeader(table, "ID", HEADER_COLOR);
+        addTableHeader(table, "Titulo", HEADER_COLOR);
+        addTableHeader(table, "Status", HEADER_COLOR);
+        addTableHeader(table, "Prioridade", HEADER_COLOR);
+        addTableHeader(table, "Responsavel", HEADER_COLOR);
+        addTableHeader(table, "Deadline", HEADER_COLOR);
+        addTableHeader(table, "Criado em", HEADER_COLOR);
+
+        // Large table: added before its rows, then flushed to the writer in chunks
+        document.add(table);
 
         // Rows
         boolean alternate = false;
-        for (Task task : tasks) {
-            DeviceRgb bgColor = alternate ? new DeviceRgb(245, 245, 245) : new DeviceRgb(255, 255, 255);
-            
-            addTableCell(table, String.valueOf(task.getId()), bgColor);
-            addTableCell(table, task.getTitle(), bgColor);
-            addTableCell(table, translateStatus(task.getStatus()), bgColor, getStatusColor(task.getStatus()));
-            addTableCell(table, translatePriority(task.getPriority().name()), bgColor);
-            addTableCell(table, task.getAssignee() != null ? task.getAssignee().getName() : "-", bgColor);
-            addTableCell(table, task.getDeadline() != null ? task.getDeadline().format(DATE_FORMATTER) : "-", bgColor);
-            addTableCell(table, task.getCreatedAt().format(DATE_FORMATTER), bgColor);
-            
-            alternate = !alternate;
+        int pending = 0;
+        long written = 0;
+        try (Stream<TaskRow> rows = taskRepository.streamRowsByProjectId(projectId)) {
+            Iterator<TaskRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TaskRow task = iterator.next();
+                DeviceRgb bgColor = alternate ? ALTERNATE_ROW_COLOR : ROW_COLOR;
+
+                addTableCell(table, String.valueOf(task.id()), bgColor);
+                addTableCell(table, task.title(), bgColor);
+                addTableCell(table, translateStatus(task.status()), bgColor, getStatusColor(task.status()));
+                addTableCell(table, translatePriority(task.priority().name()), bgColor);
+                addTableCell(table, task.assigneeName() != null ? task.assigneeName() : "-", bgColor);
+                addTableCell(table, task.deadline() != null ? task.deadline().format(DATE_FORMATTER) : "-", bgColor);
+                addTableCell(table, task.createdAt().format(DATE_FORMATTER), bgColor);
+
+                alternate = !alternate;
+                written++;
+                if (++pending == PDF_FLUSH_ROWS) {
+                    table.flush();
+                    pending = 0;
+                }
+            }
         }
 
-        document.add(table);
+        table.complete();
+        return written;
     }
 
     private void addTableHeader(Table table, String text, DeviceRgb bgColor) {
@@ -293,6 +341,34 @@ public class ReportService {
         document.add(footer);
     }
 
+    /**
+     * Tempo de geracao, bytes escritos e linhas por formato; outcome=error inclui cliente que desconectou
+     */
+    private void recordRender(String format, String outcome, Timer.Sample sample, long bytes, long rows) {
+        RenderMeters meters = renderMeters.computeIfAbsent(format + ":" + outcome,
+                key -> registerRenderMeters(format, outcome));
+        sample.stop(meters.timer());
+        meters.size().record(bytes);
+        meters.rows().record(rows);
+    }
+
+    private RenderMeters registerRenderMeters(String format, String outcome) {
+        return new RenderMeters(
+                Timer.builder("reports.render")
+                        .description("Time to stream a project report")
+                        .tags("format", format, "outcome", outcome)
+                        .register(meterRegistry),
+                DistributionSummary.builder("reports.size")
+                        .description("Bytes written per report")
+                        .baseUnit("bytes")
+                        .tag("format", format)
+                        .register(meterRegistry),
+                DistributionSummary.builder("reports.rows")
+                        .description("Task rows per report")
+                        .tag("format", format)
+                        .register(meterRegistry));
+    }
+
     private String translateStatus(TaskStatus status) {
         return switch (status) {
             case TODO -> "A Fazer";
@@ -312,9 +388,36 @@ public class ReportService {
 
     private DeviceRgb getStatusColor(TaskStatus status) {
         return switch (status) {
-            case TODO -> new DeviceRgb(158, 158, 158);
-            case DOING -> new DeviceRgb(33, 150, 243);
-            case DONE -> new DeviceRgb(76, 175, 80);
+            case TODO -> STATUS_TODO_COLOR;
+            case DOING -> STATUS_DOING_COLOR;
+            case DONE -> STATUS_DONE_COLOR;
         };
     }
+
+    /**
+     * Conta os bytes que passam para o stream da resposta
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        // FilterOutputStream would otherwise write byte by byte
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private record RenderMeters(Timer timer, DistributionSummary size, DistributionSummary rows) {}
 }
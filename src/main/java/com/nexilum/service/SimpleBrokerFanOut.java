@@ -0,0 +1,35 @@
+package com.nexilum.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Envio direto ao broker em memoria: alcanca apenas os clientes conectados a este no.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "simple", matchIfMissing = true)
+public class SimpleBrokerFanOut implements BrokerFanOut {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserMessageDispatcher userMessageDispatcher;
+
+    @Override
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public void sendToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+    }
+
+    @Override
+    public void sendToUsers(Collection<String> users, String destination, Object payload) {
+        userMessageDispatcher.sendToUsers(users, destination, userMessageDispatcher.encode(payload));
+    }
+}
@@ -7,6 +7,7 @@ import com.nexilum.entity.Task;
 import com.nexilum.entity.User;
 import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.event.TaskChangedEvent;
 import com.nexilum.exception.ForbiddenException;
 import com.nexilum.exception.ResourceNotFoundException;
 import com.nexilum.repository.ProjectRepository;
@@ -14,6 +15,7 @@ import com.nexilum.repository.TaskRepository;
 import com.nexilum.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,8 +36,9 @@ public class TaskService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final GamificationService gamificationService;
-    private final BadgeService badgeService;
     private final NotificationService notificationService;
+    private final ProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TaskResponse create(TaskRequest request, User reporter) {
         log.debug("Creating task '{}' for project {}", request.getTitle(), request.getProjectId());
@@ -43,13 +46,13 @@ public class TaskService {
         Project project = projectRepository.findById(request.getProjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", request.getProjectId()));
 
-        validateUserAccessToProject(project, reporter);
+        projectAccessService.validateAccess(project, reporter);
 
         User assignee = null;
         if (request.getAssigneeId() != null) {
             assignee = userRepository.findById(request.getAssigneeId())
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", request.getAssigneeId()));
-            validateUserAccessToProject(project, assignee);
+            projectAccessService.validateAccess(project, assignee);
         }
 
         Task task = Task.builder()
@@ -80,7 +83,7 @@ public class TaskService {
     @Transactional(readOnly = true)
     public TaskResponse findById(Long id, User currentUser) {
         Task task = getTaskOrThrow(id);
-        validateUserAccessToProject(task.getProject(), currentUser);
+        projectAccessService.validateAccess(task.getProject(), currentUser);
 
         return TaskResponse.fromEntity(task);
     }
@@ -90,11 +93,11 @@ public class TaskService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", projectId));
 
-        validateUserAccessToProject(project, currentUser);
+        projectAccessService.validateAccess(project, currentUser);
 
-        return taskRepository.findByProjectId(projectId)
+        return taskRepository.findRowsByProjectId(projectId)
                 .stream()
-                .map(TaskResponse::fromEntity)
+                .map(TaskResponse::fromRow)
                 .collect(Collectors.toList());
     }
 
@@ -103,10 +106,10 @@ public class TaskService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Projeto", "id", projectId));
 
-        validateUserAccessToProject(project, currentUser);
+        projectAccessService.validateAccess(project, currentUser);
 
-        return taskRepository.findByProjectId(projectId, pageable)
-                .map(TaskResponse::fromEntity);
+        return taskRepository.findRowsByProjectId(projectId, pageable)
+                .map(TaskResponse::fromRow);
     }
 
     @Transactional(readOnly = true)
@@ -117,9 +120,9 @@ public class TaskService {
             throw new ForbiddenException("Você só pode ver suas próprias tarefas");
         }
 
-        return taskRepository.findByAssigneeId(assigneeId)
+        return taskRepository.findRowsByAssigneeId(assigneeId)
                 .stream()
-                .map(TaskResponse::fromEntity)
+                .map(TaskResponse::fromRow)
                 .collect(Collectors.toList());
     }
 
@@ -129,21 +132,21 @@ public class TaskService {
             throw new ForbiddenException("Você só pode ver suas próprias tarefas");
         }
 
-        return taskRepository.findByAssigneeId(assigneeId, pageable)
-                .map(TaskResponse::fromEntity);
+        return taskRepository.findRowsByAssigneeId(assigneeId, pageable)
+                .map(TaskResponse::fromRow);
     }
 
     @Transactional(readOnly = true)
     public List<TaskResponse> findMyTasks(User currentUser) {
-        return taskRepository.findByAssigneeId(currentUser.getId())
+        return taskRepository.findRowsByAssigneeId(currentUser.getId())
                 .stream()
-                .map(TaskResponse::fromEntity)
+                .map(TaskResponse::fromRow)
                 .collect(Collectors.toList());
     }
 
     public TaskResponse update(Long id, TaskRequest request, User currentUser) {
         Task task = getTaskOrThrow(id);
-        validateUserAccessToProject(task.getProject(), currentUser);
+        projectAccessService.validateAccess(task.getProject(), currentUser);
 
         log.debug("Updating task {} by user {}", id, currentUser.getEmail());
 
@@ -160,7 +163,7 @@ public class TaskService {
         if (request.getAssigneeId() != null) {
             User newAssignee = userRepository.findById(request.getAssigneeId())
                     .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", request.getAssigneeId()));
-            validateUserAccessToProject(task.getProject(), newAssignee);
+            projectAccessService.validateAccess(task.getProject(), newAssignee);
             task.setAssignee(newAssignee);
         }
 
@@ -181,7 +184,7 @@ public class TaskService {
 
     public TaskResponse updateStatus(Long id, TaskStatus newStatus, User currentUser) {
         Task task = getTaskOrThrow(id);
-        validateUserAccessToProject(task.getProject(), currentUser);
+        projectAccessService.validateAccess(task.getProject(), currentUser);
 
         log.debug("Updating task {} status from {} to {}", id, task.getStatus(), newStatus);
 
@@ -202,9 +205,6 @@ public class TaskService {
                         assignee, task.getPriority(), beforeDeadline);
                 task.setPointsAwarded(pointsAwarded);
                 
-                // Check for new badges
-                badgeService.checkAndAwardBadges(assignee);
-                
                 // Check for level up and notify
                 if (gamificationService.didUserLevelUp(assignee, previousLevel)) {
                     notificationService.notifyLevelUp(
@@ -239,14 +239,17 @@ public class TaskService {
         // Send notification for status change
         notificationService.notifyTaskStatusChanged(updated, currentUser);
         
-        // Broadcast to project channel for real-time updates (kanban board)
-        notificationService.broadcastToProjectChannel(
+        TaskResponse response = TaskResponse.fromEntity(updated);
+
+        // Real-time kanban update, buffered and sent after commit
+        eventPublisher.publishEvent(new TaskChangedEvent(
                 task.getProject().getId(),
+                updated.getId(),
                 "TASK_STATUS_CHANGED",
-                TaskResponse.fromEntity(updated)
-        );
+                response
+        ));
         
-        return TaskResponse.fromEntity(updated);
+        return response;
     }
 
     public void delete(Long id, User currentUser) {
@@ -271,13 +274,4 @@ public class TaskService {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa", "id", id));
     }
-
-    private void validateUserAccessToProject(Project project, User user) {
-        boolean hasAccess = project.getOwner().getId().equals(user.getId()) ||
-                project.getMembers().stream().anyMatch(m -> m.getId().equals(user.getId()));
-
-        if (!hasAccess) {
-            throw new ForbiddenException("Você não tem acesso a este projeto");
-        }
-    }
 }
@@ -0,0 +1,123 @@
+package com.nexilum.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrega de uma mesma mensagem para muitos usuarios.
+ * O payload e serializado uma unica vez numa mensagem imutavel (byte[] JSON) que e
+ * reaproveitada para todos os destinatarios; o envio roda num pool proprio, fora da thread da requisicao.
+ */
+@Slf4j
+@Component
+public class UserMessageDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer deliveryTimer;
+    private final Counter failedDeliveries;
+
+    public UserMessageDispatcher(
+            SimpMessagingTemplate messagingTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${websocket.fan-out.pool-size:4}") int poolSize,
+            @Value("${websocket.fan-out.queue-capacity:1000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ws-fanout-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("ws-fanout-").getVirtualThreadFactory());
+        }
+        // Backpressure: when the queue is full the producer delivers its own batch
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+
+        this.deliveryTimer = Timer.builder("websocket.fanout.delivery")
+                .description("Time from hand-off until a batch is delivered to every recipient")
+                .register(meterRegistry);
+        this.failedDeliveries = Counter.builder("websocket.fanout.failures")
+                .description("Recipients a batch could not be delivered to")
+                .register(meterRegistry);
+        meterRegistry.gauge("websocket.fanout.queued", executor,
+                pool -> pool.getThreadPoolExecutor().getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Serializa o payload uma vez em uma mensagem JSON pronta para envio
+     */
+    public Message<byte[]> encode(Object payload) {
+        try {
+            return jsonMessage(objectMapper.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize WebSocket payload", e);
+        }
+    }
+
+    public Message<byte[]> jsonMessage(byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    /**
+     * Envia a mensagem ja codificada para o destino de cada usuario, de forma assincrona
+     */
+    public void sendToUsers(Collection<String> users, String destination, Message<byte[]> message) {
+        List<String> recipients = List.copyOf(users);
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> {
+            for (String user : recipients) {
+                try {
+                    messagingTemplate.send(userDestination(user, destination), message);
+                } catch (RuntimeException e) {
+                    failedDeliveries.increment();
+                    log.warn("Failed to deliver {} to user {}", destination, user, e);
+                }
+            }
+            // Includes the queue wait: this is the latency recipients see
+            deliveryTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            log.debug("Delivered {} to {} users", destination, recipients.size());
+        });
+    }
+
+    /**
+     * Mesmo destino que SimpMessagingTemplate.convertAndSendToUser monta
+     */
+    public static String userDestination(String user, String destination) {
+        return "/user/" + StringUtils.replace(user, "/", "%2F") + destination;
+    }
+}
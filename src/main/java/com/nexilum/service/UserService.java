@@ -2,11 +2,13 @@ package com.nexilum.service;
 
 import com.nexilum.dto.response.UserResponse;
 import com.nexilum.entity.User;
+import com.nexilum.event.UserUpdatedEvent;
 import com.nexilum.exception.ResourceNotFoundException;
 import com.nexilum.repository.TaskRepository;
 import com.nexilum.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public UserResponse findById(Long id) {
@@ -78,6 +81,7 @@ public class UserService {
         }
 
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(updated.getId(), updated.getEmail()));
         log.info("Profile updated for user {}", user.getEmail());
 
         return UserResponse.fromEntity(updated);
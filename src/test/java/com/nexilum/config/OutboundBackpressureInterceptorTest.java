@@ -0,0 +1,79 @@
+package com.nexilum.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboundBackpressureInterceptor.
+ * Tests: the per-session pending count across handled, rejected and vetoed sends.
+ */
+class OutboundBackpressureInterceptorTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private OutboundBackpressureInterceptor interceptor;
+    private Message<byte[]> message;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interceptor = new OutboundBackpressureInterceptor(new WebSocketProperties(), new SimpleMeterRegistry());
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(SESSION_ID);
+        interceptor.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(SESSION_ID);
+        message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    @DisplayName("Should release a message once the handler has written it")
+    void shouldReleaseHandledMessage() {
+        // Act
+        interceptor.preSend(message, channel);
+        interceptor.afterSendCompletion(message, channel, true, null);
+        int queued = interceptor.pendingFor(SESSION_ID);
+        interceptor.afterMessageHandled(message, channel, mock(MessageHandler.class), null);
+
+        // Assert
+        assertEquals(1, queued);
+        assertEquals(0, interceptor.pendingFor(SESSION_ID));
+    }
+
+    @Test
+    @DisplayName("Should release a message the executor rejected")
+    void shouldReleaseRejectedMessage() {
+        // Act
+        interceptor.preSend(message, channel);
+        interceptor.afterSendCompletion(message, channel, false, new RejectedExecutionException("full"));
+
+        // Assert
+        assertEquals(0, interceptor.pendingFor(SESSION_ID));
+    }
+
+    @Test
+    @DisplayName("Should release a message vetoed after it was counted")
+    void shouldReleaseUnsentMessage() {
+        // Act
+        interceptor.preSend(message, channel);
+        interceptor.afterSendCompletion(message, channel, false, null);
+
+        // Assert
+        assertEquals(0, interceptor.pendingFor(SESSION_ID));
+    }
+}
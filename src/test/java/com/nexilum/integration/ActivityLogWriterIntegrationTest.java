@@ -0,0 +1,172 @@
+package com.nexilum.integration;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.repository.ActivityLogRepository;
+import com.nexilum.repository.UserRepository;
+import com.nexilum.service.ActivityLogWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ActivityLogWriter.
+ * Tests: rows written with IDENTITY ids before the switch to activity_logs_seq,
+ * and entries written synchronously after commit when the queue is full.
+ */
+@TestPropertySource(properties = {
+        // One slot and a short offer so the queue fills up deterministically
+        "activity-log.writer.queue-capacity=1",
+        "activity-log.writer.offer-timeout=10ms",
+        // This context is created next to the shared one; don't drop its schema
+        "spring.jpa.hibernate.ddl-auto=update"
+})
+class ActivityLogWriterIntegrationTest extends BaseIntegrationTest {
+
+    private static final String ENTITY_TYPE = "WRITER_TEST";
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should move the sequence past ids written before it existed")
+    void shouldAlignSequenceWithExistingRows() {
+        // Arrange - a row from the IDENTITY era, ahead of the sequence
+        String email = generateUniqueEmail();
+        registerUser("Legacy Logger", email, "Test@123");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+        long legacyId = nextSequenceValue() + 10_000;
+        jdbcTemplate.update("""
+                INSERT INTO activity_logs (id, action, points_earned, user_id, created_at)
+                VALUES (?, 'TASK_CREATED', 0, ?, now())
+                """, legacyId, userId);
+
+        // Act
+        activityLogRepository.alignIdSequence();
+
+        // Assert
+        assertTrue(nextSequenceValue() > legacyId);
+    }
+
+    @Test
+    @DisplayName("Should never move the sequence backwards")
+    void shouldKeepSequenceAhead() {
+        // Arrange
+        long ahead = nextSequenceValue() + 50_000;
+        jdbcTemplate.queryForObject("SELECT setval('activity_logs_seq', ?)", Long.class, ahead);
+
+        // Act
+        activityLogRepository.alignIdSequence();
+
+        // Assert
+        assertTrue(nextSequenceValue() > ahead);
+    }
+
+    @Test
+    @DisplayName("Should write the entry in its own transaction when the queue is full after commit")
+    void shouldWriteSynchronouslyWhenQueueIsFull() throws Exception {
+        // Arrange - hold the worker on a table lock so the one-slot queue fills up
+        String email = generateUniqueEmail();
+        registerUser("Busy Logger", email, "Test@123");
+        User user = userRepository.findByEmail(email).orElseThrow();
+        awaitPending(0);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<?> lockHolder = threads.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("LOCK TABLE activity_logs IN EXCLUSIVE MODE");
+                locked.countDown();
+                await(release);
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+            appendInTransaction(transactionTemplate, user, "taken by the worker");
+            awaitPending(0);
+            appendInTransaction(transactionTemplate, user, "fills the queue");
+
+            // Act - the queue is full, so this one is written from the committing thread
+            Future<?> overflow = threads.submit(() -> appendInTransaction(transactionTemplate, user, "overflow"));
+            Thread.sleep(200);
+            release.countDown();
+            lockHolder.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            overflow.get(10, TimeUnit.SECONDS);
+            awaitEntries(user.getId(), 3);
+        } finally {
+            release.countDown();
+            threads.shutdownNow();
+        }
+    }
+
+    private void appendInTransaction(TransactionTemplate transactionTemplate, User user, String details) {
+        transactionTemplate.executeWithoutResult(status -> activityLogWriter.append(ActivityLog.builder()
+                .action(ActionType.TASK_CREATED)
+                .entityType(ENTITY_TYPE)
+                .details(details)
+                .user(user)
+                .build()));
+    }
+
+    private void awaitPending(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && activityLogWriter.pendingEntries() != expected; attempt++) {
+            Thread.sleep(100);
+        }
+        assertEquals(expected, activityLogWriter.pendingEntries());
+    }
+
+    private void awaitEntries(Long userId, int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (countEntries(userId) >= expected) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertEquals(expected, countEntries(userId));
+    }
+
+    private int countEntries(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM activity_logs WHERE user_id = ? AND entity_type = ?",
+                Integer.class, userId, ENTITY_TYPE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT nextval('activity_logs_seq')", Long.class);
+    }
+}
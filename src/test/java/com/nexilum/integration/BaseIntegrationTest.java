@@ -40,6 +40,13 @@ public abstract class BaseIntegrationTest {
             .withUsername("taskflow")
             .withPassword("taskflow123");
 
+    /**
+     * Shared container, for tests outside this package that start extra application nodes
+     */
+    protected static PostgreSQLContainer<?> postgres() {
+        return POSTGRES;
+    }
+
     @DynamicPropertySource
     static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
@@ -0,0 +1,123 @@
+package com.nexilum.integration;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.entity.UserDailyActivity;
+import com.nexilum.enums.ActionType;
+import com.nexilum.repository.DataMigrationRepository;
+import com.nexilum.repository.UserDailyActivityRepository;
+import com.nexilum.repository.UserRepository;
+import com.nexilum.service.ActivityLogWriter;
+import com.nexilum.service.DailyActivityRollup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the user_daily_activity rollup.
+ * Tests: increments from written batches, the one-off backfill, and rebuilds.
+ */
+class DailyActivityRollupIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2020, 1, 15);
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private DailyActivityRollup dailyActivityRollup;
+
+    @Autowired
+    private UserDailyActivityRepository userDailyActivityRepository;
+
+    @Autowired
+    private DataMigrationRepository dataMigrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should record the backfill before the writer starts")
+    void shouldRecordBackfill() {
+        // Assert
+        assertTrue(activityLogWriter.isRunning());
+        assertTrue(dataMigrationRepository.existsById("daily-activity-backfill"));
+    }
+
+    @Test
+    @DisplayName("Should add written entries to the daily totals")
+    void shouldIncrementDailyTotals() throws InterruptedException {
+        // Arrange
+        Long userId = createUser();
+
+        // Act
+        activityLogWriter.append(entry(userId, 5));
+        activityLogWriter.append(entry(userId, 10));
+
+        // Assert
+        UserDailyActivity day = awaitDay(userId, 2);
+        assertEquals(2, day.getCount());
+        assertEquals(15, day.getPoints());
+    }
+
+    @Test
+    @DisplayName("Should rebuild totals from activity_logs and keep adding afterwards")
+    void shouldRebuildFromActivityLogs() throws InterruptedException {
+        // Arrange - entries that never went through the rollup
+        Long userId = createUser();
+        for (int points : new int[]{4, 6, 8}) {
+            jdbcTemplate.update("""
+                    INSERT INTO activity_logs (id, action, points_earned, user_id, created_at)
+                    VALUES (nextval('activity_logs_seq'), 'TASK_COMPLETED', ?, ?, ?)
+                    """, points, userId, DAY.atTime(10, 0));
+        }
+
+        // Act
+        dailyActivityRollup.rebuild();
+        activityLogWriter.append(entry(userId, 2));
+
+        // Assert
+        UserDailyActivity day = awaitDay(userId, 4);
+        assertEquals(4, day.getCount());
+        assertEquals(20, day.getPoints());
+    }
+
+    private Long createUser() {
+        String email = generateUniqueEmail();
+        registerUser("Rollup User", email, "Test@123");
+        return userRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    private ActivityLog entry(Long userId, int points) {
+        return ActivityLog.builder()
+                .action(ActionType.TASK_COMPLETED)
+                .pointsEarned(points)
+                .user(userRepository.getReferenceById(userId))
+                .createdAt(DAY.atTime(12, 0))
+                .build();
+    }
+
+    /**
+     * Waits for the writer to flush until the day reaches the expected count
+     */
+    private UserDailyActivity awaitDay(Long userId, int expectedCount) throws InterruptedException {
+        UserDailyActivity.Key key = new UserDailyActivity.Key(userId, DAY);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Optional<UserDailyActivity> day = userDailyActivityRepository.findById(key);
+            if (day.isPresent() && day.get().getCount() >= expectedCount) {
+                return day.get();
+            }
+            Thread.sleep(100);
+        }
+        fail("Daily totals did not reach " + expectedCount + " entries");
+        return null;
+    }
+}
@@ -4,12 +4,20 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.nexilum.dto.request.ProjectRequest;
 import com.nexilum.dto.request.TaskRequest;
 import com.nexilum.dto.response.AuthResponse;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
 import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.repository.UserRepository;
+import com.nexilum.service.ActivityLogWriter;
+import com.nexilum.service.BadgeService;
+import com.nexilum.service.GamificationService;
+import com.nexilum.service.RankingIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 
 import java.util.List;
@@ -23,6 +31,18 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class GamificationIntegrationTest extends BaseIntegrationTest {
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
     private String userToken;
     private Long projectId;
 
@@ -128,6 +148,33 @@ class GamificationIntegrationTest extends BaseIntegrationTest {
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertTrue(response.getBody().contains("currentStreak"));
         }
+
+        @Test
+        @DisplayName("Should rank user ahead after earning points")
+        void shouldRankUserAheadAfterEarningPoints() {
+            // Arrange - A fresh user with no points
+            String otherToken = registerAndGetToken("Idle User", "Test@123");
+
+            TaskRequest task = TaskRequest.builder()
+                    .title("Rank Task")
+                    .projectId(projectId)
+                    .priority(TaskPriority.HIGH)
+                    .status(TaskStatus.TODO)
+                    .build();
+
+            ResponseEntity<String> taskResponse = postWithAuth(baseUrl + "/tasks", task, userToken);
+            Long taskId = extractId(taskResponse.getBody());
+            patchWithAuth(baseUrl + "/tasks/" + taskId + "/status?status=DONE", null, userToken);
+
+            // Act
+            int myRank = extractGlobalRank(getWithAuth(baseUrl + "/gamification/profile", userToken).getBody());
+            int otherRank = extractGlobalRank(getWithAuth(baseUrl + "/gamification/profile", otherToken).getBody());
+
+            // Assert
+            assertTrue(myRank >= 1);
+            assertTrue(myRank < otherRank,
+                    "User with points (" + myRank + ") should rank ahead of idle user (" + otherRank + ")");
+        }
     }
 
     @Nested
@@ -182,6 +229,46 @@ class GamificationIntegrationTest extends BaseIntegrationTest {
             // Badge system may have different criteria - just verify response is valid
             assertTrue(isSuccessResponse(response.getBody()));
         }
+
+        @Test
+        @DisplayName("Should unlock Team Player badge after joining five projects")
+        void shouldUnlockTeamPlayerBadge() {
+            // Arrange - setup already created one project
+            for (int i = 0; i < 4; i++) {
+                ProjectRequest projectRequest = ProjectRequest.builder()
+                        .name("Team Project " + i)
+                        .build();
+                postWithAuth(baseUrl + "/projects", projectRequest, userToken);
+            }
+
+            // Act
+            ResponseEntity<String> response = getWithAuth(
+                    baseUrl + "/gamification/badges",
+                    userToken
+            );
+
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getBody().contains("TEAM_PLAYER"));
+        }
+        @Test
+        @DisplayName("Should award Leader badge when the user takes the top of the ranking")
+        void shouldAwardLeaderBadge() {
+            // Arrange - enough points to pass whoever leads now
+            ResponseEntity<String> profileResponse = getWithAuth(baseUrl + "/gamification/profile", userToken);
+            User user = userRepository.findById(extractUserId(profileResponse.getBody())).orElseThrow();
+            List<Long> top = rankingIndex.topUserIds(1);
+            int leaderPoints = top.isEmpty() ? 0 : rankingIndex.pointsOf(top.get(0));
+
+            // Act
+            gamificationService.awardPoints(user, leaderPoints + 1, ActionType.TASK_COMPLETED, "Leader test");
+            ResponseEntity<String> response = getWithAuth(baseUrl + "/gamification/badges", userToken);
+
+            // Assert
+            assertEquals(user.getId(), rankingIndex.topUserIds(1).get(0));
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getBody().contains(BadgeService.BADGE_LEADER));
+        }
     }
 
     @Nested
@@ -359,6 +446,34 @@ class GamificationIntegrationTest extends BaseIntegrationTest {
             // Heatmap should have data
             assertFalse(response.getBody().contains("\"data\":null"));
         }
+
+        @Test
+        @DisplayName("Should return 304 for an unchanged compact heatmap")
+        void shouldRevalidateCompactHeatmap() {
+            // Arrange - flush the write-behind activity log so the watermark cannot move
+            activityLogWriter.stop();
+            activityLogWriter.start();
+            ResponseEntity<String> first = getWithAuth(baseUrl + "/gamification/heatmap/compact", userToken);
+            String etag = first.getHeaders().getETag();
+
+            HttpHeaders headers = createAuthHeaders(userToken);
+            headers.setIfNoneMatch(etag);
+
+            // Act
+            ResponseEntity<String> second = restTemplate.exchange(
+                    baseUrl + "/gamification/heatmap/compact",
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    String.class
+            );
+
+            // Assert
+            assertEquals(HttpStatus.OK, first.getStatusCode());
+            assertNotNull(etag);
+            assertTrue(etag.startsWith("W/"), "JSON heatmaps carry a per-response timestamp");
+            assertTrue(first.getBody().contains("\"counts\""));
+            assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        }
     }
 
     @Nested
@@ -454,6 +569,18 @@ class GamificationIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private int extractGlobalRank(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("globalRankPosition")).intValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract globalRankPosition", e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Long extractUserId(String jsonResponse) {
         try {
@@ -0,0 +1,69 @@
+package com.nexilum.integration;
+
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.dto.response.AuthResponse;
+import com.nexilum.dto.response.ProjectResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint.
+ * Tests: admin-only access and the subsystem metrics it exposes.
+ */
+class MetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should reject the scrape for non-admin users")
+    void shouldRejectNonAdmin() {
+        // Arrange
+        String token = registerAndGetToken("Metrics User", "Test@123");
+
+        // Act
+        ResponseEntity<String> response = getWithAuth(baseUrl + "/actuator/prometheus", token);
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should expose subsystem metrics to admins")
+    void shouldExposeMetricsToAdmin() {
+        // Arrange - promoted before its first authenticated request, so no cached principal
+        String email = generateUniqueEmail();
+        AuthResponse admin = registerUser("Metrics Admin", email, "Test@123");
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE email = ?", email);
+        String token = admin.getAccessToken();
+
+        Long projectId = extractData(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Metrics Project").build(), token).getBody(),
+                ProjectResponse.class).getId();
+        postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                .title("Metrics Task")
+                .projectId(projectId)
+                .build(), token);
+        getWithAuth(baseUrl + "/reports/project/" + projectId + "/csv", token);
+
+        // Act
+        ResponseEntity<String> response = getWithAuth(baseUrl + "/actuator/prometheus", token);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertNotNull(body);
+        assertTrue(body.contains("gamification_points_awarded_total"), "Missing points counter");
+        assertTrue(body.contains("badges_evaluation_seconds"), "Missing badge evaluation timer");
+        assertTrue(body.contains("reports_render_seconds"), "Missing report timer");
+        assertTrue(body.contains("reports_size_bytes"), "Missing report size");
+        assertTrue(body.contains("jwt_validation_seconds"), "Missing JWT timer");
+    }
+}
@@ -0,0 +1,259 @@
+package com.nexilum.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.NexilumApplication;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.dto.response.AuthResponse;
+import com.nexilum.security.UserPrincipalCache;
+import com.nexilum.service.ProjectAccessService;
+import com.nexilum.service.BrokerFanOut;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Postgres (LISTEN/NOTIFY) broker mode.
+ * Tests: messages produced on one node reach STOMP clients connected to another node,
+ * messages sent inside a transaction go out only if it commits, and cached principals
+ * and project access decisions are dropped on every node when they change.
+ */
+@TestPropertySource(properties = {
+        "websocket.broker.mode=postgres",
+        // This context is created next to the shared one; don't drop its schema
+        "spring.jpa.hibernate.ddl-auto=update"
+})
+class MultiNodeBrokerIntegrationTest extends BaseIntegrationTest {
+
+    private static ConfigurableApplicationContext secondNode;
+
+    @Autowired
+    private BrokerFanOut brokerFanOut;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void startSecondNode() {
+        if (secondNode == null) {
+            secondNode = new SpringApplicationBuilder(NexilumApplication.class)
+                    .profiles("test")
+                    .properties(
+                            "server.port=0",
+                            "websocket.broker.mode=postgres",
+                            // Schema belongs to the first node; create-drop here would wipe it
+                            "spring.jpa.hibernate.ddl-auto=none",
+                            "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                            "spring.datasource.username=" + POSTGRES.getUsername(),
+                            "spring.datasource.password=" + POSTGRES.getPassword())
+                    .run();
+        }
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterAll
+    static void stopSecondNode() {
+        if (secondNode != null) {
+            secondNode.close();
+            secondNode = null;
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver project and user messages to clients on another node")
+    void shouldFanOutAcrossNodes() throws Exception {
+        // Arrange
+        String ownerToken = registerAndGetToken("Node Owner", "Test@123");
+        AuthResponse member = registerUser("Node Member", generateUniqueEmail(), "Test@123");
+        Long memberId = member.getUser().getId();
+
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Multi Node Project").build(), ownerToken).getBody());
+        postWithAuth(baseUrl + "/projects/" + projectId + "/members/" + memberId, null, ownerToken);
+
+        StompSession session = connectToSecondNode(member.getAccessToken());
+        BlockingQueue<Map<String, Object>> projectEvents = subscribe(session, "/topic/project/" + projectId);
+        BlockingQueue<Map<String, Object>> notifications = subscribe(session, "/user/queue/notifications");
+        Thread.sleep(500);
+
+        try {
+            // Act - both messages are produced by the first node
+            Long taskId = extractId(postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                    .title("Cross Node Task")
+                    .projectId(projectId)
+                    .assigneeId(memberId)
+                    .build(), ownerToken).getBody());
+            patchWithAuth(baseUrl + "/tasks/" + taskId + "/status?status=IN_PROGRESS", null, ownerToken);
+
+            Map<String, Object> notification = notifications.poll(10, TimeUnit.SECONDS);
+            Map<String, Object> projectEvent = projectEvents.poll(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertNotNull(notification, "Assignment notification did not reach the second node");
+            assertEquals("TASK_ASSIGNED", notification.get("type"));
+            assertNotNull(projectEvent, "Kanban update did not reach the second node");
+            assertEquals("TASK_STATUS_CHANGED", projectEvent.get("event"));
+        } finally {
+            session.disconnect();
+            stompClient.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish messages sent inside a transaction only when it commits")
+    void shouldPublishWithSenderTransaction() throws Exception {
+        // Arrange
+        String ownerToken = registerAndGetToken("Tx Owner", "Test@123");
+        AuthResponse member = registerUser("Tx Member", generateUniqueEmail(), "Test@123");
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Tx Fan-out Project").build(), ownerToken).getBody());
+        postWithAuth(baseUrl + "/projects/" + projectId + "/members/" + member.getUser().getId(), null, ownerToken);
+        String destination = "/topic/project/" + projectId;
+
+        StompSession session = connectToSecondNode(member.getAccessToken());
+        BlockingQueue<Map<String, Object>> projectEvents = subscribe(session, destination);
+        Thread.sleep(500);
+
+        try {
+            // Act - a rolled back send, then a committed one too large to go inline
+            transactionTemplate.executeWithoutResult(status -> {
+                brokerFanOut.send(destination, Map.of("event", "ROLLED_BACK"));
+                status.setRollbackOnly();
+            });
+            String largeBody = "x".repeat(10_000);
+            transactionTemplate.executeWithoutResult(status ->
+                    brokerFanOut.send(destination, Map.of("event", "COMMITTED", "payload", largeBody)));
+
+            Map<String, Object> received = projectEvents.poll(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertNotNull(received, "Committed message did not reach the second node");
+            assertEquals("COMMITTED", received.get("event"));
+            assertEquals(largeBody, received.get("payload"));
+            assertNull(projectEvents.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            session.disconnect();
+            stompClient.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop the cached principal on other nodes when points change")
+    void shouldInvalidatePrincipalAcrossNodes() throws Exception {
+        // Arrange - the second node has the user's principal cached
+        String email = generateUniqueEmail();
+        String token = registerUser("Cached Scorer", email, "Test@123").getAccessToken();
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Cache Project").build(), token).getBody());
+        UserPrincipalCache remoteCache = secondNode.getBean(UserPrincipalCache.class);
+        int before = remoteCache.getByEmail(email).getTotalPoints();
+
+        // Act - the first node awards points for a new task
+        postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                .title("Scoring Task")
+                .projectId(projectId)
+                .build(), token);
+
+        // Assert
+        int after = before;
+        for (int attempt = 0; attempt < 50 && after == before; attempt++) {
+            Thread.sleep(100);
+            after = remoteCache.getByEmail(email).getTotalPoints();
+        }
+        assertTrue(after > before, "Second node kept serving the cached principal");
+    }
+
+    @Test
+    @DisplayName("Should revoke cached project access on other nodes when a member is removed")
+    void shouldInvalidateAccessAcrossNodes() throws Exception {
+        // Arrange - the second node has cached that the member can access the project
+        String ownerToken = registerAndGetToken("Access Owner", "Test@123");
+        Long memberId = registerUser("Access Member", generateUniqueEmail(), "Test@123").getUser().getId();
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Access Project").build(), ownerToken).getBody());
+        postWithAuth(baseUrl + "/projects/" + projectId + "/members/" + memberId, null, ownerToken);
+        ProjectAccessService remoteAccess = secondNode.getBean(ProjectAccessService.class);
+        assertTrue(remoteAccess.hasAccess(projectId, memberId));
+
+        // Act - the first node removes the member
+        deleteWithAuth(baseUrl + "/projects/" + projectId + "/members/" + memberId, ownerToken);
+
+        // Assert
+        boolean access = true;
+        for (int attempt = 0; attempt < 50 && access; attempt++) {
+            Thread.sleep(100);
+            access = remoteAccess.hasAccess(projectId, memberId);
+        }
+        assertFalse(access, "Second node kept granting access to a removed member");
+    }
+
+    private StompSession connectToSecondNode(String token) throws Exception {
+        int secondPort = ((WebServerApplicationContext) secondNode).getWebServer().getPort();
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync("ws://localhost:" + secondPort + "/api/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static BlockingQueue<Map<String, Object>> subscribe(StompSession session, String destination) {
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<String, Object>) payload);
+            }
+        });
+        return received;
+    }
+
+    // ============ Helper Methods ============
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexilum.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.dto.response.AuthResponse;
+import com.nexilum.service.NotificationInbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the persistent notification inbox.
+ * Tests: notifications sent while a client was offline are replayed after CONNECT with "since".
+ */
+class NotificationInboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private NotificationInbox notificationInbox;
+
+    @Test
+    @DisplayName("Should replay notifications missed since the cursor")
+    @SuppressWarnings("unchecked")
+    void shouldReplayMissedNotifications() throws Exception {
+        // Arrange - member is offline while being added to a project and assigned a task
+        String ownerToken = registerAndGetToken("Inbox Owner", "Test@123");
+        AuthResponse member = registerUser("Inbox Member", generateUniqueEmail(), "Test@123");
+        Long memberId = member.getUser().getId();
+
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Inbox Project").build(), ownerToken).getBody());
+        postWithAuth(baseUrl + "/projects/" + projectId + "/members/" + memberId, null, ownerToken);
+        postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                .title("Assigned While Offline")
+                .projectId(projectId)
+                .assigneeId(memberId)
+                .build(), ownerToken);
+        awaitInbox(memberId, 2);
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + member.getAccessToken());
+        connectHeaders.add("since", "0");
+
+        // Act
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/api/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        BlockingQueue<Map<String, Object>> replays = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/notifications/replay", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                replays.add((Map<String, Object>) payload);
+            }
+        });
+
+        try {
+            Map<String, Object> replay = replays.poll(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertNotNull(replay, "No replay frame received");
+            List<Map<String, Object>> notifications = (List<Map<String, Object>>) replay.get("notifications");
+            assertEquals(2, notifications.size());
+            assertEquals("PROJECT_MEMBER_ADDED", notifications.get(0).get("type"));
+            assertEquals("TASK_ASSIGNED", notifications.get(1).get("type"));
+            assertEquals(notifications.get(1).get("seq"), replay.get("lastSeq"));
+            assertEquals(Boolean.FALSE, replay.get("hasMore"));
+        } finally {
+            session.disconnect();
+            stompClient.stop();
+        }
+    }
+
+    // ============ Helper Methods ============
+
+    /**
+     * Notifications are recorded after commit, off the request thread
+     */
+    private void awaitInbox(Long userId, int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (notificationInbox.since(userId, 0).getNotifications().size() >= expected) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Inbox of user " + userId + " did not reach " + expected + " notifications");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+}
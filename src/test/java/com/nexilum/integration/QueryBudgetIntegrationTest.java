@@ -0,0 +1,161 @@
+package com.nexilum.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.config.QueryStatsCollector;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.dto.response.AuthResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the per-request query budgets.
+ * Tests: key read endpoints run a fixed number of statements regardless of how many rows they return.
+ */
+@TestPropertySource(properties = "query-stats.on-exceeded=fail")
+class QueryBudgetIntegrationTest extends BaseIntegrationTest {
+
+    private static final int BUDGET = 10;
+
+    @Autowired
+    private QueryStatsCollector queryStatsCollector;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void assertNoViolations() {
+        assertEquals(List.of(), queryStatsCollector.drainViolations());
+    }
+
+    @Test
+    @DisplayName("Should list projects with a constant number of queries")
+    void shouldListProjectsWithinBudget() throws Exception {
+        // Arrange
+        String token = registerAndGetToken("Budget Projects", "Test@123");
+        createProjects(token, 2, 2);
+        measure("ProjectController.findAll", "/projects", token);
+
+        // Act
+        long few = measure("ProjectController.findAll", "/projects", token);
+        createProjects(token, 8, 2);
+        long many = measure("ProjectController.findAll", "/projects", token);
+
+        // Assert
+        assertEquals(few, many, "Query count grew with the number of projects");
+        assertTrue(many <= BUDGET, "Listing projects ran " + many + " queries");
+    }
+
+    @Test
+    @DisplayName("Should load a project's tasks with a constant number of queries")
+    void shouldListProjectTasksWithinBudget() throws Exception {
+        // Arrange
+        String token = registerAndGetToken("Budget Board", "Test@123");
+        Long projectId = createProjects(token, 1, 2);
+        String path = "/tasks/project/" + projectId;
+        measure("TaskController.findByProject", path, token);
+
+        // Act
+        long few = measure("TaskController.findByProject", path, token);
+        createTasks(token, projectId, null, 10);
+        long many = measure("TaskController.findByProject", path, token);
+
+        // Assert
+        assertEquals(few, many, "Query count grew with the number of tasks");
+        assertTrue(many <= BUDGET, "Loading the board ran " + many + " queries");
+    }
+
+    @Test
+    @DisplayName("Should list assigned tasks with a constant number of queries")
+    void shouldListMyTasksWithinBudget() throws Exception {
+        // Arrange
+        AuthResponse user = registerUser("Budget Assignee", generateUniqueEmail(), "Test@123");
+        String token = user.getAccessToken();
+        Long projectId = createProjects(token, 1, 0);
+        createTasks(token, projectId, user.getUser().getId(), 2);
+        measure("TaskController.findMyTasks", "/tasks/my-tasks", token);
+
+        // Act
+        long few = measure("TaskController.findMyTasks", "/tasks/my-tasks", token);
+        createTasks(token, projectId, user.getUser().getId(), 10);
+        long many = measure("TaskController.findMyTasks", "/tasks/my-tasks", token);
+
+        // Assert
+        assertEquals(few, many, "Query count grew with the number of assigned tasks");
+        assertTrue(many <= BUDGET, "Listing assigned tasks ran " + many + " queries");
+    }
+
+    /**
+     * Sends the request and returns the queries recorded for it under the handler tag
+     */
+    private long measure(String handler, String path, String token) throws InterruptedException {
+        DistributionSummary before = summary(handler);
+        long count = before == null ? 0 : before.count();
+        double total = before == null ? 0 : before.totalAmount();
+
+        ResponseEntity<String> response = getWithAuth(baseUrl + path, token);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        // The filter records after the response is written, so the client may get there first
+        long deadline = System.currentTimeMillis() + 5_000;
+        DistributionSummary after = summary(handler);
+        while ((after == null || after.count() == count) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            after = summary(handler);
+        }
+        assertNotNull(after, "No query metrics recorded for " + handler);
+        assertEquals(count + 1, after.count(), "Expected one recorded request for " + handler);
+        return Math.round(after.totalAmount() - total);
+    }
+
+    private DistributionSummary summary(String handler) {
+        return meterRegistry.find("db.queries")
+                .tags("transport", QueryStatsCollector.TRANSPORT_HTTP, "handler", handler)
+                .summary();
+    }
+
+    private Long createProjects(String token, int projects, int tasksPerProject) {
+        Long last = null;
+        for (int i = 0; i < projects; i++) {
+            last = extractId(postWithAuth(baseUrl + "/projects",
+                    ProjectRequest.builder().name("Budget Project " + i).build(), token).getBody());
+            createTasks(token, last, null, tasksPerProject);
+        }
+        return last;
+    }
+
+    private void createTasks(String token, Long projectId, Long assigneeId, int tasks) {
+        for (int i = 0; i < tasks; i++) {
+            ResponseEntity<String> response = postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                    .title("Budget Task " + i)
+                    .projectId(projectId)
+                    .assigneeId(assigneeId)
+                    .build(), token);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.nexilum.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.dto.response.AuthResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ReportController endpoints.
+ * Tests: CSV and PDF exports, report jobs and access control.
+ */
+class ReportControllerIntegrationTest extends BaseIntegrationTest {
+
+    private String ownerToken;
+    private Long projectId;
+
+    @BeforeEach
+    void setUpReportTests() {
+        AuthResponse authResponse = registerUser("Report Owner", generateUniqueEmail(), "Test@123");
+        ownerToken = authResponse.getAccessToken();
+
+        ProjectRequest projectRequest = ProjectRequest.builder()
+                .name("Report Test Project")
+                .build();
+
+        ResponseEntity<String> projectResponse = postWithAuth(
+                baseUrl + "/projects",
+                projectRequest,
+                ownerToken
+        );
+
+        projectId = extractId(projectResponse.getBody());
+    }
+
+    @Nested
+    @DisplayName("GET /api/reports/project/{id}/csv")
+    class CsvExportTests {
+
+        @Test
+        @DisplayName("Should stream CSV with one row per task")
+        void shouldExportCsv() {
+            // Arrange
+            for (int i = 1; i <= 3; i++) {
+                TaskRequest task = TaskRequest.builder()
+                        .title("Exported Task " + i)
+                        .projectId(projectId)
+                        .build();
+                postWithAuth(baseUrl + "/tasks", task, ownerToken);
+            }
+
+            // Act
+            ResponseEntity<byte[]> response = restTemplate.exchange(
+                    baseUrl + "/reports/project/" + projectId + "/csv",
+                    HttpMethod.GET,
+                    new HttpEntity<>(createAuthHeaders(ownerToken)),
+                    byte[].class
+            );
+
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            String csv = new String(response.getBody(), StandardCharsets.UTF_8);
+            assertTrue(csv.contains("Titulo"));
+            for (int i = 1; i <= 3; i++) {
+                assertTrue(csv.contains("Exported Task " + i));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject CSV export for non-members")
+        void shouldRejectNonMember() {
+            // Arrange
+            String otherToken = registerAndGetToken("Outsider", "Test@123");
+
+            // Act
+            ResponseEntity<String> response = getWithAuth(
+                    baseUrl + "/reports/project/" + projectId + "/csv",
+                    otherToken
+            );
+
+            // Assert
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reports/project/{id}/pdf")
+    class PdfExportTests {
+
+        @Test
+        @DisplayName("Should stream a PDF document")
+        void shouldExportPdf() {
+            // Arrange
+            TaskRequest task = TaskRequest.builder()
+                    .title("PDF Task")
+                    .projectId(projectId)
+                    .build();
+            postWithAuth(baseUrl + "/tasks", task, ownerToken);
+
+            // Act
+            ResponseEntity<byte[]> response = restTemplate.exchange(
+                    baseUrl + "/reports/project/" + projectId + "/pdf",
+                    HttpMethod.GET,
+                    new HttpEntity<>(createAuthHeaders(ownerToken)),
+                    byte[].class
+            );
+
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
+            assertNotNull(response.getBody());
+            assertTrue(new String(response.getBody(), 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/reports/project/{id}/jobs")
+    class ReportJobTests {
+
+        @Test
+        @DisplayName("Should generate report asynchronously and reuse the artifact")
+        void shouldGenerateAndReuseArtifact() throws Exception {
+            // Arrange
+            TaskRequest task = TaskRequest.builder()
+                    .title("Job Task")
+                    .projectId(projectId)
+                    .build();
+            postWithAuth(baseUrl + "/tasks", task, ownerToken);
+
+            // Act
+            ResponseEntity<String> submitResponse = postWithAuth(
+                    baseUrl + "/reports/project/" + projectId + "/jobs?format=CSV", null, ownerToken);
+            assertEquals(HttpStatus.ACCEPTED, submitResponse.getStatusCode());
+            String jobId = extractJobField(submitResponse.getBody(), "jobId");
+
+            String status = extractJobField(submitResponse.getBody(), "status");
+            for (int attempt = 0; attempt < 50 && !"COMPLETED".equals(status); attempt++) {
+                assertNotEquals("FAILED", status);
+                Thread.sleep(100);
+                status = extractJobField(getWithAuth(baseUrl + "/reports/jobs/" + jobId, ownerToken).getBody(), "status");
+            }
+
+            ResponseEntity<byte[]> download = restTemplate.exchange(
+                    baseUrl + "/reports/jobs/" + jobId + "/download",
+                    HttpMethod.GET,
+                    new HttpEntity<>(createAuthHeaders(ownerToken)),
+                    byte[].class
+            );
+
+            ResponseEntity<String> resubmitResponse = postWithAuth(
+                    baseUrl + "/reports/project/" + projectId + "/jobs?format=CSV", null, ownerToken);
+
+            // Assert
+            assertEquals("COMPLETED", status);
+            assertEquals(HttpStatus.OK, download.getStatusCode());
+            assertTrue(new String(download.getBody(), StandardCharsets.UTF_8).contains("Job Task"));
+            assertEquals("COMPLETED", extractJobField(resubmitResponse.getBody(), "status"));
+        }
+
+        @Test
+        @DisplayName("Should reject report job for non-members")
+        void shouldRejectNonMember() {
+            // Arrange
+            String outsiderToken = registerAndGetToken("Outsider", "Test@123");
+
+            // Act
+            ResponseEntity<String> response = postWithAuth(
+                    baseUrl + "/reports/project/" + projectId + "/jobs", null, outsiderToken);
+
+            // Assert
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
+    // ============ Helper Methods ============
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractJobField(String jsonResponse, String field) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return String.valueOf(data.get(field));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract " + field, e);
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.nexilum.integration;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.dto.request.CommentRequest;
 import com.nexilum.dto.request.ProjectRequest;
 import com.nexilum.dto.request.TaskRequest;
 import com.nexilum.dto.response.AuthResponse;
 import com.nexilum.enums.TaskPriority;
 import com.nexilum.enums.TaskStatus;
+import com.nexilum.repository.DataMigrationRepository;
+import com.nexilum.service.CommentCountReconciler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -23,6 +28,15 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class TaskControllerIntegrationTest extends BaseIntegrationTest {
 
+    @Autowired
+    private CommentCountReconciler commentCountReconciler;
+
+    @Autowired
+    private DataMigrationRepository dataMigrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String ownerToken;
     private Long projectId;
 
@@ -268,6 +282,58 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
             // Assert
             assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         }
+
+        @Test
+        @DisplayName("Should keep comment count in sync with comments")
+        void shouldTrackCommentCount() {
+            // Arrange
+            TaskRequest request = TaskRequest.builder()
+                    .title("Discussed Task")
+                    .projectId(projectId)
+                    .build();
+
+            Long taskId = extractId(postWithAuth(baseUrl + "/tasks", request, ownerToken).getBody());
+
+            CommentRequest comment = CommentRequest.builder().content("First").build();
+            Long commentId = extractId(postWithAuth(
+                    baseUrl + "/comments/task/" + taskId, comment, ownerToken).getBody());
+            postWithAuth(baseUrl + "/comments/task/" + taskId,
+                    CommentRequest.builder().content("Second").build(), ownerToken);
+            deleteWithAuth(baseUrl + "/comments/" + commentId, ownerToken);
+
+            // Act
+            ResponseEntity<String> response = getWithAuth(
+                    baseUrl + "/tasks/" + taskId,
+                    ownerToken
+            );
+
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(1, extractCommentCount(response.getBody()));
+        }
+
+        @Test
+        @DisplayName("Should repair drifted comment counts and record the backfill")
+        void shouldReconcileDriftedCommentCount() {
+            // Arrange
+            TaskRequest request = TaskRequest.builder()
+                    .title("Drifted Task")
+                    .projectId(projectId)
+                    .build();
+
+            Long taskId = extractId(postWithAuth(baseUrl + "/tasks", request, ownerToken).getBody());
+            postWithAuth(baseUrl + "/comments/task/" + taskId,
+                    CommentRequest.builder().content("Only").build(), ownerToken);
+            jdbcTemplate.update("UPDATE tasks SET comment_count = 7 WHERE id = ?", taskId);
+
+            // Act
+            int fixed = commentCountReconciler.reconcile();
+
+            // Assert
+            assertTrue(fixed >= 1);
+            assertEquals(1, extractCommentCount(getWithAuth(baseUrl + "/tasks/" + taskId, ownerToken).getBody()));
+            assertTrue(dataMigrationRepository.existsById("comment-count-backfill"));
+        }
     }
 
     @Nested
@@ -534,6 +600,18 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private int extractCommentCount(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("commentCount")).intValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract commentCount", e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Long extractUserId(String jsonResponse) {
         try {
@@ -0,0 +1,163 @@
+package com.nexilum.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.integration.BaseIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test: one project broadcast fanned out to many STOMP subscribers on a single node.
+ * Run with {@code mvn -Pload-tests test}; size with -Dload.subscribers (default 10000).
+ * Client and server share the JVM, so the open file limit must allow about twice the
+ * subscriber count (e.g. {@code ulimit -n 65536}).
+ */
+@Slf4j
+@Tag("load")
+@TestPropertySource(properties = {
+        "server.tomcat.max-connections=30000",
+        "server.tomcat.accept-count=2000",
+        "logging.level.com.nexilum=INFO"
+})
+class BrokerFanOutLoadTest extends BaseIntegrationTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("load.subscribers", 10_000);
+    private static final int CONNECT_CONCURRENCY = Integer.getInteger("load.connect-concurrency", 200);
+
+    @Autowired
+    private SimpUserRegistry simpUserRegistry;
+
+    @Test
+    @DisplayName("Should deliver a kanban broadcast to every concurrent subscriber")
+    void shouldFanOutToAllSubscribers() throws Exception {
+        // Arrange
+        String token = registerAndGetToken("Load Owner", "Test@123");
+        Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                ProjectRequest.builder().name("Load Project").build(), token).getBody());
+        Long taskId = extractId(postWithAuth(baseUrl + "/tasks",
+                TaskRequest.builder().title("Load Task").projectId(projectId).build(), token).getBody());
+        String destination = "/topic/project/" + projectId;
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        List<StompSession> sessions = new CopyOnWriteArrayList<>();
+        CountDownLatch connected = new CountDownLatch(SUBSCRIBERS);
+        CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS);
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore connecting = new Semaphore(CONNECT_CONCURRENCY);
+
+        try {
+            long connectStart = System.nanoTime();
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                connecting.acquire();
+                stompClient.connectAsync("ws://localhost:" + port + "/api/ws",
+                                new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                        .whenComplete((session, error) -> {
+                            connecting.release();
+                            if (error != null) {
+                                failures.incrementAndGet();
+                            } else {
+                                sessions.add(session);
+                                session.subscribe(destination, countingHandler(delivered));
+                            }
+                            connected.countDown();
+                        });
+            }
+            assertTrue(connected.await(5, TimeUnit.MINUTES), "Timed out connecting subscribers");
+            assertEquals(0, failures.get(), "Some subscribers failed to connect");
+            awaitSubscriptions(destination, Duration.ofMinutes(2));
+            Duration connectTime = Duration.ofNanos(System.nanoTime() - connectStart);
+
+            // Act
+            long sendStart = System.nanoTime();
+            ResponseEntity<String> response = patchWithAuth(
+                    baseUrl + "/tasks/" + taskId + "/status?status=IN_PROGRESS", null, token);
+            boolean allDelivered = delivered.await(2, TimeUnit.MINUTES);
+            Duration fanOutTime = Duration.ofNanos(System.nanoTime() - sendStart);
+
+            // Assert
+            log.info("Fan-out load: {} subscribers connected in {} ms, delivered in {} ms ({} missing)",
+                    SUBSCRIBERS, connectTime.toMillis(), fanOutTime.toMillis(), delivered.getCount());
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(allDelivered, delivered.getCount() + " subscribers did not receive the broadcast");
+        } finally {
+            sessions.forEach(session -> {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            });
+            stompClient.stop();
+        }
+    }
+
+    private void awaitSubscriptions(String destination, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int subscribed = 0;
+        while (System.nanoTime() < deadline) {
+            subscribed = simpUserRegistry.findSubscriptions(s -> destination.equals(s.getDestination())).size();
+            if (subscribed >= SUBSCRIBERS) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        fail("Only " + subscribed + " of " + SUBSCRIBERS + " subscriptions registered");
+    }
+
+    private static StompFrameHandler countingHandler(CountDownLatch delivered) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                delivered.countDown();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+}
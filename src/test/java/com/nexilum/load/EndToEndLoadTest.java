@@ -0,0 +1,187 @@
+package com.nexilum.load;
+
+import com.nexilum.integration.BaseIntegrationTest;
+import com.nexilum.security.JwtService;
+import com.nexilum.service.DailyActivityRollup;
+import com.nexilum.service.RankingIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load suite: seeds a skewed synthetic dataset into the Testcontainers Postgres and
+ * runs scripted traffic against the real HTTP/WebSocket stack, one scenario per test.
+ * Run with {@code mvn -Pload-tests test -Dtest=EndToEndLoadTest}; volumes are set with
+ * -Dload.users, -Dload.projects, -Dload.tasks-per-project, etc. (see LoadDataGenerator.Volumes),
+ * traffic with -Dload.concurrency, -Dload.duration and -Dload.subscribers.
+ * The report is written to target/load-report.md.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        // Prepared statement counts per scenario
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.nexilum=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class EndToEndLoadTest extends BaseIntegrationTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 50);
+    private static final int EXPORT_CONCURRENCY = Integer.getInteger("load.export-concurrency", 8);
+    private static final int SUBSCRIBERS = Integer.getInteger("load.subscribers", 500);
+    private static final int FAN_OUT_ROUNDS = Integer.getInteger("load.fan-out-rounds", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private static final String[] STATUSES = {"TODO", "DOING", "DONE"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @Autowired
+    private DailyActivityRollup dailyActivityRollup;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LoadReport report = new LoadReport();
+    private LoadDataset dataset;
+    private ScenarioRunner runner;
+
+    @BeforeAll
+    void seed() {
+        LoadDataGenerator generator = new LoadDataGenerator(jdbcTemplate, Long.getLong("load.seed", 42));
+        dataset = generator.generate(LoadDataGenerator.Volumes.fromSystemProperties(), email ->
+                jwtService.generateToken(User.withUsername(email).password("").build()));
+
+        // Seeded through JDBC, so rebuild what the app derives from the tables at startup
+        rankingIndex.rebuild();
+        dailyActivityRollup.rebuild();
+
+        runner = new ScenarioRunner("http://localhost:" + port + "/api",
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics(), WARM_UP);
+    }
+
+    @AfterAll
+    void writeReport() throws Exception {
+        report.write(Path.of("target", "load-report.md"), String.format(
+                "Load report: %d users, %d projects, %ds per scenario",
+                dataset.users().size(), dataset.projects().size(), DURATION.toSeconds()));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Kanban board: members load their project's tasks")
+    void kanbanBoard() throws Exception {
+        ScenarioResult result = runner.run("kanban board", CONCURRENCY, DURATION, random -> {
+            LoadDataset.Membership membership = dataset.randomMembership(random);
+            return runner.get("/tasks/project/" + membership.project().id(), membership.user().token());
+        });
+
+        assertScenario(result);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Status-change storm: concurrent status updates on the hottest projects")
+    void statusChangeStorm() throws Exception {
+        List<LoadDataset.SeededProject> hot = dataset.hottest(5);
+
+        ScenarioResult result = runner.run("status-change storm", CONCURRENCY, DURATION, random -> {
+            LoadDataset.SeededProject project = hot.get(random.nextInt(hot.size()));
+            long taskId = project.taskIds()[random.nextInt(project.taskIds().length)];
+            return runner.patch("/tasks/" + taskId + "/status?status=" + STATUSES[random.nextInt(STATUSES.length)],
+                    project.owner().token());
+        });
+
+        assertScenario(result);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Profile and ranking views")
+    void profileAndRanking() throws Exception {
+        ScenarioResult result = runner.run("profile + ranking", CONCURRENCY, DURATION, random -> {
+            LoadDataset.Membership membership = dataset.randomMembership(random);
+            String token = membership.user().token();
+            int pick = random.nextInt(10);
+            if (pick < 4) {
+                return runner.get("/gamification/profile", token);
+            }
+            if (pick < 7) {
+                return runner.get("/gamification/ranking?limit=50", token);
+            }
+            if (pick < 9) {
+                return runner.get("/gamification/heatmap", token);
+            }
+            return runner.get("/gamification/ranking/project/" + membership.project().id(), token);
+        });
+
+        assertScenario(result);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Exports: CSV and PDF project reports")
+    void exports() throws Exception {
+        ScenarioResult result = runner.run("exports (csv 80% / pdf 20%)", EXPORT_CONCURRENCY, DURATION, random -> {
+            LoadDataset.Membership membership = dataset.randomMembership(random);
+            String format = random.nextInt(5) == 0 ? "pdf" : "csv";
+            return runner.get("/reports/project/" + membership.project().id() + "/" + format,
+                    membership.user().token());
+        });
+
+        assertScenario(result);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("WebSocket fan-out: kanban updates to the hottest project's subscribers")
+    void webSocketFanOut() throws Exception {
+        LoadDataset.SeededProject project = dataset.hottest(1).get(0);
+        List<String> tokens = project.members().stream()
+                .limit(SUBSCRIBERS)
+                .map(LoadDataset.SeededUser::token)
+                .toList();
+
+        ScenarioResult result = runner.runFanOut("websocket fan-out", tokens, "/topic/project/" + project.id(),
+                FAN_OUT_ROUNDS, Duration.ofSeconds(10), random -> {
+                    long taskId = project.taskIds()[random.nextInt(project.taskIds().length)];
+                    return runner.patch("/tasks/" + taskId + "/status?status=" + STATUSES[random.nextInt(3)],
+                            project.owner().token());
+                });
+
+        assertScenario(result);
+    }
+
+    private void assertScenario(ScenarioResult result) {
+        report.add(result);
+        assertTrue(result.requests() > 0, result.name() + " completed no requests");
+        assertTrue(result.errorRate() < 0.01, result.name() + " error rate " + result.errorRate());
+    }
+}
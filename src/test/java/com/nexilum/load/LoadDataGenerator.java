@@ -0,0 +1,268 @@
+package com.nexilum.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Seeds a synthetic dataset straight through JDBC (the API would take hours at these volumes).
+ * Popularity is Zipf-distributed: a few projects hold most members, tasks and traffic, the
+ * long tail is small. Every run uses its own name/email prefix, so it can share a database.
+ * In-memory indexes built from the database (ranking, daily rollup) must be rebuilt afterwards.
+ */
+public class LoadDataGenerator {
+
+    private static final String[] STATUSES = {"TODO", "DOING", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] ACTIONS = {"TASK_CREATED", "TASK_COMPLETED", "COMMENT_ADDED", "TASK_STATUS_CHANGED"};
+    // Mirrors the level thresholds in GamificationService
+    private static final int[] LEVEL_MIN_POINTS = {0, 100, 300, 600, 1000, 2000};
+    private static final String[] LEVEL_NAMES = {"Iniciante", "Aprendiz", "Colaborador", "Especialista", "Mestre", "Lenda"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final String prefix;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public LoadDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.prefix = "load-" + Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    /**
+     * Data volumes, overridable with -Dload.users, -Dload.projects, etc.
+     */
+    public record Volumes(int users, int projects, int tasksPerProject, int commentsPerTask,
+                          int activityPerUser, int projectsPerUser) {
+
+        public static Volumes fromSystemProperties() {
+            return new Volumes(
+                    Integer.getInteger("load.users", 2_000),
+                    Integer.getInteger("load.projects", 200),
+                    Integer.getInteger("load.tasks-per-project", 50),
+                    Integer.getInteger("load.comments-per-task", 2),
+                    Integer.getInteger("load.activity-per-user", 40),
+                    Integer.getInteger("load.projects-per-user", 3));
+        }
+    }
+
+    public LoadDataset generate(Volumes volumes, Function<String, String> tokenForEmail) {
+        long start = System.nanoTime();
+        List<LoadDataset.SeededUser> users = insertUsers(volumes.users(), tokenForEmail);
+        double[] popularity = zipfCumulative(volumes.projects(), 1.1);
+
+        List<Long> projectIds = insertProjects(volumes.projects(), users);
+        Map<Integer, Set<Integer>> membersByProject = insertMemberships(volumes, users, projectIds, popularity);
+        Map<Long, long[]> tasksByProject = insertTasksAndComments(volumes, users, projectIds, membersByProject, popularity);
+        insertActivity(volumes, users, projectIds);
+
+        List<LoadDataset.SeededProject> projects = new ArrayList<>(projectIds.size());
+        for (int p = 0; p < projectIds.size(); p++) {
+            Long projectId = projectIds.get(p);
+            projects.add(new LoadDataset.SeededProject(
+                    projectId,
+                    users.get(ownerIndex(p, users.size())),
+                    membersByProject.get(p).stream().map(users::get).toList(),
+                    tasksByProject.getOrDefault(projectId, new long[0])));
+        }
+        System.out.printf("Seeded %d users, %d projects, %d tasks in %d ms%n", users.size(), projects.size(),
+                tasksByProject.values().stream().mapToInt(ids -> ids.length).sum(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new LoadDataset(users, projects);
+    }
+
+    private List<LoadDataset.SeededUser> insertUsers(int count, Function<String, String> tokenForEmail) {
+        String password = new BCryptPasswordEncoder().encode("Test@123");
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Pareto-ish points: most users are beginners, a few are far ahead
+            int points = (int) Math.min(10_000, 40 / Math.pow(1 - random.nextDouble(), 0.8));
+            int level = levelIndex(points);
+            Timestamp createdAt = daysAgo(random.nextInt(365));
+            rows.add(new Object[]{"Load User " + i, prefix + "-" + i + "@load.nexilum.dev", password,
+                    "USER", points, level + 1, LEVEL_NAMES[level], random.nextInt(10), random.nextInt(30),
+                    java.sql.Date.valueOf(LocalDate.now().minusDays(random.nextInt(7))), points / 20,
+                    createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (name, email, password, role, total_points, level, level_name,
+                                   current_streak, longest_streak, last_activity_date, tasks_completed,
+                                   created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+
+        return jdbcTemplate.query("SELECT id, email FROM users WHERE email LIKE ? ORDER BY id",
+                (rs, rowNum) -> new LoadDataset.SeededUser(rs.getLong(1), rs.getString(2),
+                        tokenForEmail.apply(rs.getString(2))),
+                prefix + "-%");
+    }
+
+    private List<Long> insertProjects(int count, List<LoadDataset.SeededUser> users) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            Timestamp createdAt = daysAgo(random.nextInt(365));
+            rows.add(new Object[]{prefix + " project " + p, "Synthetic project " + p, "#4285F4",
+                    users.get(ownerIndex(p, users.size())).id(), createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO projects (name, description, color, owner_id, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, rows);
+        return jdbcTemplate.queryForList("SELECT id FROM projects WHERE name LIKE ? ORDER BY id",
+                Long.class, prefix + " project %");
+    }
+
+    private Map<Integer, Set<Integer>> insertMemberships(Volumes volumes, List<LoadDataset.SeededUser> users,
+                                                         List<Long> projectIds, double[] popularity) {
+        Map<Integer, Set<Integer>> members = new HashMap<>();
+        for (int p = 0; p < projectIds.size(); p++) {
+            members.put(p, new LinkedHashSet<>());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int u = 0; u < users.size(); u++) {
+            int joins = 1 + random.nextInt(volumes.projectsPerUser() * 2);
+            for (int j = 0; j < joins; j++) {
+                int p = sample(popularity);
+                if (ownerIndex(p, users.size()) != u && members.get(p).add(u)) {
+                    rows.add(new Object[]{projectIds.get(p), users.get(u).id()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_members (project_id, user_id) VALUES (?, ?)", rows);
+        return members;
+    }
+
+    private Map<Long, long[]> insertTasksAndComments(Volumes volumes, List<LoadDataset.SeededUser> users,
+                                                     List<Long> projectIds, Map<Integer, Set<Integer>> members,
+                                                     double[] popularity) {
+        int totalTasks = volumes.projects() * volumes.tasksPerProject();
+        List<Object[]> taskRows = new ArrayList<>(totalTasks);
+        List<int[]> plannedComments = new ArrayList<>(totalTasks);
+        for (int p = 0; p < projectIds.size(); p++) {
+            double share = popularity[p] - (p == 0 ? 0 : popularity[p - 1]);
+            int tasks = Math.max(5, (int) Math.round(totalTasks * share));
+            List<Integer> team = new ArrayList<>(members.get(p));
+            team.add(ownerIndex(p, users.size()));
+            for (int t = 0; t < tasks; t++) {
+                String status = STATUSES[random.nextInt(STATUSES.length)];
+                Timestamp createdAt = daysAgo(random.nextInt(180));
+                int assignee = team.get(random.nextInt(team.size()));
+                int comments = random.nextInt(volumes.commentsPerTask() * 2 + 1);
+                taskRows.add(new Object[]{"Task " + t + " of project " + p, "Synthetic task description " + t,
+                        status, PRIORITIES[random.nextInt(PRIORITIES.length)],
+                        java.sql.Date.valueOf(LocalDate.now().plusDays(random.nextInt(60) - 20)),
+                        "DONE".equals(status) ? createdAt : null, "DONE".equals(status) ? 20 : 0, comments,
+                        projectIds.get(p), random.nextInt(5) == 0 ? null : users.get(assignee).id(),
+                        users.get(team.get(random.nextInt(team.size()))).id(), createdAt, createdAt});
+                plannedComments.add(new int[]{comments, team.get(random.nextInt(team.size()))});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO tasks (title, description, status, priority, deadline, completed_at, points_awarded,
+                                   comment_count, project_id, assignee_id, reporter_id, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, taskRows);
+
+        List<long[]> inserted = jdbcTemplate.query("""
+                SELECT t.id, t.project_id FROM tasks t JOIN projects p ON p.id = t.project_id
+                WHERE p.name LIKE ? ORDER BY t.id
+                """, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, prefix + " project %");
+
+        Map<Long, List<Long>> byProject = new HashMap<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < inserted.size(); i++) {
+            long taskId = inserted.get(i)[0];
+            byProject.computeIfAbsent(inserted.get(i)[1], k -> new ArrayList<>()).add(taskId);
+            int[] planned = plannedComments.get(i);
+            for (int c = 0; c < planned[0]; c++) {
+                Timestamp createdAt = daysAgo(random.nextInt(90));
+                commentRows.add(new Object[]{"Synthetic comment " + c, taskId, users.get(planned[1]).id(),
+                        createdAt, createdAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO comments (content, task_id, author_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                commentRows);
+
+        Map<Long, long[]> result = new HashMap<>();
+        byProject.forEach((projectId, ids) -> result.put(projectId, ids.stream().mapToLong(Long::longValue).toArray()));
+        return result;
+    }
+
+    private void insertActivity(Volumes volumes, List<LoadDataset.SeededUser> users, List<Long> projectIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (LoadDataset.SeededUser user : users) {
+            // Activity is skewed too: a few users generate most of the log
+            int entries = (int) (volumes.activityPerUser() * 0.25 / Math.pow(1 - random.nextDouble(), 0.6));
+            for (int i = 0; i < entries; i++) {
+                String action = ACTIONS[random.nextInt(ACTIONS.length)];
+                rows.add(new Object[]{action, "TASK", null, "Synthetic " + action,
+                        "TASK_COMPLETED".equals(action) ? 20 : 2, user.id(),
+                        projectIds.get(random.nextInt(projectIds.size())),
+                        daysAgo(random.nextInt(365))});
+            }
+            if (rows.size() >= 10_000) {
+                flushActivity(rows);
+            }
+        }
+        flushActivity(rows);
+    }
+
+    private void flushActivity(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO activity_logs (id, action, entity_type, entity_id, details, points_earned,
+                                           user_id, project_id, created_at)
+                VALUES (nextval('activity_logs_seq'), ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        rows.clear();
+    }
+
+    private Timestamp daysAgo(int days) {
+        return Timestamp.valueOf(now.minusDays(days).minusMinutes(random.nextInt(1_440)));
+    }
+
+    // Hot projects get distinct owners; the long tail shares them
+    private static int ownerIndex(int project, int users) {
+        return (project * 7) % users;
+    }
+
+    private static int levelIndex(int points) {
+        for (int level = LEVEL_MIN_POINTS.length - 1; level > 0; level--) {
+            if (points >= LEVEL_MIN_POINTS[level]) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private int sample(double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.nexilum.load;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids and tokens of the seeded data, used by the scenarios to build requests.
+ */
+public class LoadDataset {
+
+    private final List<SeededUser> users;
+    private final List<SeededProject> projects;
+    // One entry per (project, member): sampling it makes traffic follow the membership skew
+    private final List<Membership> memberships = new ArrayList<>();
+
+    public LoadDataset(List<SeededUser> users, List<SeededProject> projects) {
+        this.users = List.copyOf(users);
+        this.projects = List.copyOf(projects);
+        for (SeededProject project : projects) {
+            memberships.add(new Membership(project, project.owner()));
+            project.members().forEach(member -> memberships.add(new Membership(project, member)));
+        }
+    }
+
+    public record SeededUser(long id, String email, String token) {
+    }
+
+    public record SeededProject(long id, SeededUser owner, List<SeededUser> members, long[] taskIds) {
+    }
+
+    public record Membership(SeededProject project, SeededUser user) {
+    }
+
+    public List<SeededUser> users() {
+        return users;
+    }
+
+    public List<SeededProject> projects() {
+        return projects;
+    }
+
+    public SeededUser randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    public Membership randomMembership(Random random) {
+        return memberships.get(random.nextInt(memberships.size()));
+    }
+
+    /**
+     * Projects ordered by member count, most popular first
+     */
+    public List<SeededProject> hottest(int limit) {
+        return projects.stream()
+                .sorted(Comparator.comparingInt((SeededProject p) -> p.members().size()).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.nexilum.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects scenario results and renders them as a table (stdout and a Markdown file).
+ */
+public class LoadReport {
+
+    private static final String HEADER =
+            "| Scenario | Concurrency | Requests | Errors | Req/s | p50 ms | p95 ms | p99 ms | max ms | SQL | SQL/req |";
+
+    private final List<ScenarioResult> results = new ArrayList<>();
+
+    public synchronized void add(ScenarioResult result) {
+        results.add(result);
+        System.out.println(HEADER);
+        System.out.println(row(result));
+    }
+
+    public synchronized String render(String title) {
+        StringBuilder out = new StringBuilder("# ").append(title).append("\n\n");
+        out.append(HEADER).append('\n');
+        out.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        results.forEach(result -> out.append(row(result)).append('\n'));
+        return out.toString();
+    }
+
+    public void write(Path file, String title) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        String report = render(title);
+        Files.writeString(file, report);
+        System.out.println(report);
+        System.out.println("Load report written to " + file.toAbsolutePath());
+    }
+
+    private static String row(ScenarioResult r) {
+        return String.format("| %s | %d | %d | %d | %.1f | %d | %d | %d | %d | %d | %.1f |",
+                r.name(), r.concurrency(), r.requests(), r.errors(), r.throughput(),
+                r.p50().toMillis(), r.p95().toMillis(), r.p99().toMillis(), r.max().toMillis(),
+                r.sqlStatements(), r.sqlPerRequest());
+    }
+}
@@ -0,0 +1,41 @@
+package com.nexilum.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Outcome of one scenario: throughput, latency percentiles and SQL statements issued.
+ */
+public record ScenarioResult(String name, int concurrency, long requests, long errors, Duration elapsed,
+                             Duration p50, Duration p95, Duration p99, Duration max, long sqlStatements) {
+
+    public static ScenarioResult of(String name, int concurrency, long[] latencyNanos, long errors,
+                                    Duration elapsed, long sqlStatements) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new ScenarioResult(name, concurrency, sorted.length, errors, elapsed,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                percentile(sorted, 1.0), sqlStatements);
+    }
+
+    public double throughput() {
+        return requests / (elapsed.toNanos() / 1e9);
+    }
+
+    public double errorRate() {
+        long total = requests + errors;
+        return total == 0 ? 1.0 : (double) errors / total;
+    }
+
+    public double sqlPerRequest() {
+        return requests == 0 ? 0 : (double) sqlStatements / requests;
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]);
+    }
+}
@@ -0,0 +1,245 @@
+package com.nexilum.load;
+
+import org.hibernate.stat.Statistics;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs closed-loop HTTP scenarios (each worker sends its next request as soon as the previous
+ * one returns) and a WebSocket fan-out scenario, measuring latency and the SQL statements
+ * Hibernate prepared meanwhile (JdbcTemplate statements are not included).
+ */
+public class ScenarioRunner {
+
+    /**
+     * Builds the next request of a worker
+     */
+    @FunctionalInterface
+    public interface RequestFactory {
+        HttpRequest next(Random random);
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final Statistics statistics;
+    private final Duration warmUp;
+
+    public ScenarioRunner(String baseUrl, Statistics statistics, Duration warmUp) {
+        this.baseUrl = baseUrl;
+        this.statistics = statistics;
+        this.warmUp = warmUp;
+    }
+
+    public HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    public HttpRequest patch(String path, String token) {
+        return request(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    public ScenarioResult run(String name, int concurrency, Duration duration, RequestFactory requests)
+            throws InterruptedException {
+        drive(concurrency, warmUp, requests, null, new AtomicLong());
+
+        List<long[]> latencies = new CopyOnWriteArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        long sqlBefore = statistics.getPrepareStatementCount();
+        long start = System.nanoTime();
+        drive(concurrency, duration, requests, latencies, errors);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long sql = statistics.getPrepareStatementCount() - sqlBefore;
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).toArray();
+        return ScenarioResult.of(name, concurrency, all, errors.get(), elapsed, sql);
+    }
+
+    /**
+     * Connects subscribers to a destination, fires the trigger once per round and measures how long
+     * each subscriber takes to receive the resulting frame. Requests = deliveries, errors = misses.
+     */
+    public ScenarioResult runFanOut(String name, List<String> subscriberTokens, String destination,
+                                    int rounds, Duration roundTimeout, RequestFactory trigger) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        String wsUrl = baseUrl.replaceFirst("^http", "ws") + "/ws";
+
+        AtomicReference<Round> current = new AtomicReference<>(new Round(-1, 0, new CountDownLatch(0)));
+        ConcurrentLinkedQueue<Long> deliveries = new ConcurrentLinkedQueue<>();
+        List<StompSession> sessions = new CopyOnWriteArrayList<>();
+        Semaphore connecting = new Semaphore(100);
+        CountDownLatch connected = new CountDownLatch(subscriberTokens.size());
+        AtomicLong connectFailures = new AtomicLong();
+        Random random = new Random(42);
+
+        try {
+            for (String token : subscriberTokens) {
+                StompHeaders headers = new StompHeaders();
+                headers.add("Authorization", "Bearer " + token);
+                connecting.acquire();
+                stompClient.connectAsync(wsUrl, new WebSocketHttpHeaders(), headers, new StompSessionHandlerAdapter() {})
+                        .whenComplete((session, error) -> {
+                            connecting.release();
+                            if (error != null) {
+                                connectFailures.incrementAndGet();
+                            } else {
+                                sessions.add(session);
+                                session.subscribe(destination, new RoundHandler(current, deliveries));
+                            }
+                            connected.countDown();
+                        });
+            }
+            if (!connected.await(2, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Timed out connecting subscribers");
+            }
+
+            // Round 0 is a readiness check: every subscription must be live before measuring
+            long notReady = runRound(current, 0, sessions.size(), trigger, random, Duration.ofSeconds(30));
+            if (notReady > 0) {
+                throw new IllegalStateException(notReady + " subscribers never received the readiness frame");
+            }
+            deliveries.clear();
+
+            long misses = connectFailures.get() * rounds;
+            long sqlBefore = statistics.getPrepareStatementCount();
+            long start = System.nanoTime();
+            for (int round = 1; round <= rounds; round++) {
+                misses += runRound(current, round, sessions.size(), trigger, random, roundTimeout);
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            long sql = statistics.getPrepareStatementCount() - sqlBefore;
+
+            long[] latencies = deliveries.stream().mapToLong(Long::longValue).toArray();
+            return ScenarioResult.of(name, subscriberTokens.size(), latencies, misses, elapsed, sql);
+        } finally {
+            sessions.forEach(session -> {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            });
+            stompClient.stop();
+        }
+    }
+
+    private long runRound(AtomicReference<Round> current, int number, int expected, RequestFactory trigger,
+                          Random random, Duration timeout) throws Exception {
+        Round round = new Round(number, System.nanoTime(), new CountDownLatch(expected));
+        current.set(round);
+        HttpResponse<Void> response = httpClient.send(trigger.next(random), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Fan-out trigger failed with HTTP " + response.statusCode());
+        }
+        round.received().await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return round.received().getCount();
+    }
+
+    private void drive(int concurrency, Duration duration, RequestFactory requests, List<long[]> latencies,
+                       AtomicLong errors) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (int w = 0; w < concurrency; w++) {
+                Random random = new Random(w);
+                workers.execute(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(
+                                    requests.next(random), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - sent;
+                    }
+                    if (latencies != null) {
+                        latencies.add(Arrays.copyOf(samples, count));
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+            throw new IllegalStateException("Scenario workers did not finish");
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60));
+    }
+
+    private record Round(int number, long sentAt, CountDownLatch received) {
+    }
+
+    /**
+     * Counts the first frame each subscriber gets per round
+     */
+    private static final class RoundHandler implements StompFrameHandler {
+
+        private final AtomicReference<Round> current;
+        private final ConcurrentLinkedQueue<Long> deliveries;
+        private int lastRound = -1;
+
+        private RoundHandler(AtomicReference<Round> current, ConcurrentLinkedQueue<Long> deliveries) {
+            this.current = current;
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public synchronized void handleFrame(StompHeaders headers, Object payload) {
+            Round round = current.get();
+            if (round.number() <= lastRound) {
+                return;
+            }
+            lastRound = round.number();
+            deliveries.add(System.nanoTime() - round.sentAt());
+            round.received().countDown();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.nexilum.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexilum.NexilumApplication;
+import com.nexilum.dto.request.ProjectRequest;
+import com.nexilum.dto.request.TaskRequest;
+import com.nexilum.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test: the same blocking JDBC read mix against a platform-thread node (this context)
+ * and a virtual-thread node (second context with the virtual-threads profile), reporting
+ * throughput and p99 latency for each.
+ * Run on Java 21 with {@code mvn -Pjava21,load-tests test -Dtest=VirtualThreadsLoadTest};
+ * size with -Dload.users (default 2000) and -Dload.duration (seconds, default 60).
+ * Client and server share the JVM, so the open file limit must allow about twice the user count.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = {
+        // This context is created next to the virtual-thread node; don't drop its schema
+        "spring.jpa.hibernate.ddl-auto=update",
+        "logging.level.com.nexilum=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+class VirtualThreadsLoadTest extends BaseIntegrationTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 2_000);
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 20);
+    private static final int TASKS_PER_PROJECT = 20;
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 60));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warmup", 15));
+
+    private static ConfigurableApplicationContext virtualNode;
+
+    @AfterAll
+    static void stopVirtualNode() {
+        if (virtualNode != null) {
+            virtualNode.close();
+            virtualNode = null;
+        }
+    }
+
+    @Test
+    @DisplayName("Should compare throughput and p99 latency of platform and virtual threads")
+    void shouldCompareThreadModes() throws Exception {
+        // Arrange - a few accounts, each with its own project and tasks
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String token = registerAndGetToken("Load User " + i, "Test@123");
+            Long projectId = extractId(postWithAuth(baseUrl + "/projects",
+                    ProjectRequest.builder().name("Load Project " + i).build(), token).getBody());
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                postWithAuth(baseUrl + "/tasks", TaskRequest.builder()
+                        .title("Load Task " + t)
+                        .projectId(projectId)
+                        .build(), token);
+            }
+            accounts.add(new Account(token, projectId));
+        }
+        int virtualPort = startVirtualNode();
+
+        // Act
+        Result platform = run("platform", port, accounts);
+        Result virtual = run("virtual", virtualPort, accounts);
+
+        // Assert
+        System.out.printf("Thread model load (%d users, %ds):%n", USERS, DURATION.toSeconds());
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertTrue(platform.errorRate() < 0.01, "Platform-thread node error rate too high: " + platform);
+        assertTrue(virtual.errorRate() < 0.01, "Virtual-thread node error rate too high: " + virtual);
+    }
+
+    private Result run(String mode, int targetPort, List<Account> accounts) throws InterruptedException {
+        VirtualThreadTaskExecutor clients = new VirtualThreadTaskExecutor("load-" + mode + "-");
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String base = "http://localhost:" + targetPort + "/api";
+
+        drive(httpClient, clients, base, accounts, WARM_UP, null, new AtomicLong());
+
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        drive(httpClient, clients, base, accounts, DURATION, latencies, errors);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, all.length, errors.get(), elapsed, percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    /**
+     * Each user loops over its project's task list and its own tasks until the deadline
+     */
+    private void drive(HttpClient httpClient, VirtualThreadTaskExecutor clients, String base,
+                       List<Account> accounts, Duration duration, List<long[]> latencies,
+                       AtomicLong errors) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(USERS);
+        for (int u = 0; u < USERS; u++) {
+            Account account = accounts.get(u % accounts.size());
+            List<HttpRequest> requests = List.of(
+                    get(base + "/tasks/project/" + account.projectId(), account.token()),
+                    get(base + "/tasks/my-tasks", account.token()));
+            clients.execute(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(
+                                    requests.get(i % requests.size()), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    if (latencies != null) {
+                        synchronized (latencies) {
+                            latencies.add(Arrays.copyOf(samples, count));
+                        }
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(duration.toSeconds() + 120, TimeUnit.SECONDS), "Load users did not finish");
+    }
+
+    private int startVirtualNode() {
+        virtualNode = new SpringApplicationBuilder(NexilumApplication.class)
+                .profiles("test", "virtual-threads")
+                .properties(
+                        "server.port=0",
+                        // Schema belongs to the first node; create-drop here would wipe it
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "logging.level.com.nexilum=INFO",
+                        "logging.level.org.hibernate.SQL=INFO",
+                        "spring.datasource.url=" + postgres().getJdbcUrl(),
+                        "spring.datasource.username=" + postgres().getUsername(),
+                        "spring.datasource.password=" + postgres().getPassword())
+                .run();
+        return ((WebServerApplicationContext) virtualNode).getWebServer().getPort();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long extractId(String jsonResponse) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(jsonResponse,
+                    new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> data = (Map<String, Object>) responseMap.get("data");
+            return ((Number) data.get("id")).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to extract ID", e);
+        }
+    }
+
+    private record Account(String token, Long projectId) {
+    }
+
+    private record Result(String mode, long requests, long errors, Duration elapsed, Duration p50, Duration p99) {
+
+        double errorRate() {
+            long total = requests + errors;
+            return total == 0 ? 1.0 : (double) errors / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("  %-8s %8.0f req/s  p50 %5d ms  p99 %5d ms  (%d ok, %d errors)",
+                    mode, requests / (elapsed.toNanos() / 1e9), p50.toMillis(), p99.toMillis(), requests, errors);
+        }
+    }
+}
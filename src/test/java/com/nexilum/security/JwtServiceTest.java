@@ -0,0 +1,83 @@
+package com.nexilum.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtService.
+ * Tests: verified-token cache hits and that expired tokens are never served from it.
+ */
+class JwtServiceTest {
+
+    private static final UserDetails USER = User.withUsername("jwt@test.com").password("").build();
+
+    @Test
+    @DisplayName("Should serve a repeated token from the verified-token cache")
+    void shouldServeRepeatedTokenFromCache() {
+        // Arrange
+        JwtService jwtService = jwtService(Duration.ofHours(1));
+        String token = jwtService.generateToken(USER);
+
+        // Act
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(USER.getUsername(), second.subject());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token even after it was cached")
+    void shouldNotServeExpiredTokenFromCache() throws InterruptedException {
+        // Arrange - cached while still valid
+        JwtService jwtService = jwtService(Duration.ofSeconds(2));
+        String token = jwtService.generateToken(USER);
+        VerifiedToken cached = jwtService.verify(token);
+        assertFalse(cached.isExpired());
+
+        // Act - JWT expiration has second precision, so wait just past it
+        Thread.sleep(Math.max(0, cached.expiration().getTime() - System.currentTimeMillis()) + 50);
+
+        // Assert
+        assertTrue(cached.isExpired());
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void shouldRejectForeignSignature() {
+        // Arrange
+        String foreign = jwtService(Duration.ofHours(1), "another-secret-with-at-least-32-characters!")
+                .generateToken(USER);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService(Duration.ofHours(1)).verify(foreign));
+    }
+
+    private static JwtService jwtService(Duration expiration) {
+        return jwtService(expiration, "test-secret-key-for-testing-purposes-only-256-bits-minimum");
+    }
+
+    private static JwtService jwtService(Duration expiration, String secret) {
+        JwtService service = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secretKey", secret);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration.toMillis());
+        ReflectionTestUtils.setField(service, "refreshExpiration", Duration.ofDays(7).toMillis());
+        ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtl", Duration.ofMinutes(5));
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,105 @@
+package com.nexilum.security;
+
+import com.nexilum.entity.User;
+import com.nexilum.event.PointsChangedEvent;
+import com.nexilum.event.UserUpdatedEvent;
+import com.nexilum.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserPrincipalCache.
+ * Tests: hits and misses, copies handed out, and invalidation on user events.
+ */
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "cached@test.com";
+
+    private UserRepository userRepository;
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(User.builder()
+                .id(1L)
+                .name("Cached User")
+                .email(EMAIL)
+                .password("hash")
+                .totalPoints(40)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Should load on a miss and serve later lookups from the cache")
+    void shouldServeHitsFromCache() {
+        // Act
+        User first = cache.getByEmail(EMAIL);
+        User second = cache.getByEmail(EMAIL);
+
+        // Assert
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(40, second.getTotalPoints());
+        assertNotSame(first, second, "Callers must get their own copy");
+    }
+
+    @Test
+    @DisplayName("Should hand out copies with empty, immutable associations")
+    void shouldNotShareAssociations() {
+        // Act
+        User principal = cache.getByEmail(EMAIL);
+
+        // Assert
+        assertTrue(principal.getProjects().isEmpty());
+        assertTrue(principal.getActivities().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> principal.getBadges().clear());
+    }
+
+    @Test
+    @DisplayName("Should reload after the user's points change")
+    void shouldInvalidateOnPointsChanged() {
+        // Arrange
+        cache.getByEmail(EMAIL);
+
+        // Act
+        cache.onPointsChanged(new PointsChangedEvent(1L, EMAIL, 50));
+        cache.getByEmail(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reload after the user's profile changes")
+    void shouldInvalidateOnUserUpdated() {
+        // Arrange
+        cache.getByEmail(EMAIL);
+
+        // Act
+        cache.onUserUpdated(new UserUpdatedEvent(1L, EMAIL));
+        cache.getByEmail(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown subjects")
+    void shouldRejectUnknownEmail() {
+        // Arrange
+        when(userRepository.findByEmail("ghost@test.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> cache.getByEmail("ghost@test.com"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.nexilum.service;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.repository.ActivityLogRepository;
+import com.nexilum.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ActivityLogWriter.
+ * Tests: batched flushes, synchronous fallback with a full queue, and draining on shutdown.
+ */
+class ActivityLogWriterTest {
+
+    private static final String WORKER = "activity-log-writer";
+
+    private final ActivityLogRepository activityLogRepository = mock(ActivityLogRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final DailyActivityRollup dailyActivityRollup = mock(DailyActivityRollup.class);
+
+    // Batch sizes and writing threads, recorded when saveAll is called (the writer reuses its list)
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> writerThreads = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch workerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    private ActivityLogWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        releaseWorker.countDown();
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write queued entries in batches of the configured size")
+    void shouldFlushInBatches() throws InterruptedException {
+        // Arrange
+        writer = startWriter(100, Duration.ofMillis(50));
+        holdWorkerOnFirstEntry();
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            writer.append(entry());
+        }
+        releaseWorker.countDown();
+        writer.stop();
+
+        // Assert
+        assertEquals(List.of(1, 10, 10, 5), batchSizes);
+        verify(dailyActivityRollup, times(4)).apply(any());
+    }
+
+    @Test
+    @DisplayName("Should write on the caller thread when the queue stays full")
+    void shouldWriteSynchronouslyWhenQueueIsFull() throws InterruptedException {
+        // Arrange
+        writer = startWriter(2, Duration.ofMillis(10));
+        holdWorkerOnFirstEntry();
+        writer.append(entry());
+        writer.append(entry());
+
+        // Act
+        writer.append(entry());
+
+        // Assert
+        assertEquals(2, writer.pendingEntries());
+        assertEquals(List.of(WORKER, Thread.currentThread().getName()), writerThreads);
+        assertEquals(List.of(1, 1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should drain every queued entry before stopping")
+    void shouldDrainQueueOnStop() throws InterruptedException {
+        // Arrange
+        writer = startWriter(100, Duration.ofMillis(50));
+        holdWorkerOnFirstEntry();
+        for (int i = 0; i < 30; i++) {
+            writer.append(entry());
+        }
+
+        // Act
+        Thread stopper = new Thread(writer::stop);
+        stopper.start();
+        releaseWorker.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Assert
+        assertFalse(writer.isRunning());
+        assertEquals(0, writer.pendingEntries());
+        assertEquals(31, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private ActivityLogWriter startWriter(int queueCapacity, Duration offerTimeout) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        when(activityLogRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            writerThreads.add(Thread.currentThread().getName());
+            if (WORKER.equals(Thread.currentThread().getName()) && workerBlocked.getCount() > 0) {
+                workerBlocked.countDown();
+                releaseWorker.await();
+            }
+            return batch;
+        });
+
+        ActivityLogWriter started = new ActivityLogWriter(activityLogRepository, userRepository,
+                dailyActivityRollup, mock(OneOffMigrations.class), transactionManager,
+                queueCapacity, 10, Duration.ofMillis(20), offerTimeout);
+        started.start();
+        return started;
+    }
+
+    /**
+     * Hands one entry to the worker and waits until it is stuck writing it, so later entries queue up
+     */
+    private void holdWorkerOnFirstEntry() throws InterruptedException {
+        writer.append(entry());
+        assertTrue(workerBlocked.await(5, TimeUnit.SECONDS), "Worker did not pick up the first entry");
+    }
+
+    private static ActivityLog entry() {
+        return ActivityLog.builder()
+                .action(ActionType.TASK_CREATED)
+                .pointsEarned(5)
+                .user(User.builder().id(1L).build())
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.nexilum.service;
+
+import com.nexilum.entity.Badge;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.event.UserActionEvent;
+import com.nexilum.repository.CommentRepository;
+import com.nexilum.repository.ProjectRepository;
+import com.nexilum.repository.TaskRepository;
+import com.nexilum.repository.UserBadgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BadgeRuleEngine.
+ * Tests: counters loaded in the acting transaction, database re-reads near a threshold,
+ * and counters no longer kept once their badges are earned.
+ */
+class BadgeRuleEngineTest {
+
+    private static final User USER = User.builder().id(1L).email("badges@test.com").build();
+
+    private CommentRepository commentRepository;
+    private UserBadgeRepository userBadgeRepository;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository = mock(CommentRepository.class);
+        userBadgeRepository = mock(UserBadgeRepository.class);
+        when(userBadgeRepository.findBadgeCodesByUserId(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should load an unloaded counter with the action instead of skipping it")
+    void shouldLoadCounterOnFirstAction() {
+        // Arrange - the first count already includes the action's own comment
+        BadgeRuleEngine engine = engine(communicator(7), 0);
+        when(commentRepository.countByAuthorId(1L)).thenReturn(5L, 7L);
+
+        // Act
+        List<Badge> first = engine.onAction(commentAdded());
+        List<Badge> second = engine.onAction(commentAdded());
+        List<Badge> third = engine.onAction(commentAdded());
+
+        // Assert - 5, then 6 by delta, then 7 confirmed by the database
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(List.of("COMMUNICATOR"), codes(third));
+        verify(commentRepository, times(2)).countByAuthorId(1L);
+    }
+
+    @Test
+    @DisplayName("Should re-read the database near the threshold and see actions from other nodes")
+    void shouldRecheckNearThreshold() {
+        // Arrange - other nodes added comments this node never saw
+        BadgeRuleEngine engine = engine(communicator(10), 3);
+        when(commentRepository.countByAuthorId(1L)).thenReturn(5L, 10L);
+
+        // Act
+        engine.onAction(commentAdded());
+        engine.onAction(commentAdded());
+        List<Badge> crossed = engine.onAction(commentAdded());
+
+        // Assert - the estimate (7) is within the margin, the database says 10
+        assertEquals(List.of("COMMUNICATOR"), codes(crossed));
+    }
+
+    @Test
+    @DisplayName("Should not award on an estimate the database does not confirm")
+    void shouldNotAwardOnOvercount() {
+        // Arrange - a comment was deleted on another node
+        BadgeRuleEngine engine = engine(communicator(3), 0);
+        when(commentRepository.countByAuthorId(1L)).thenReturn(2L, 2L);
+
+        // Act
+        engine.onAction(commentAdded());
+        List<Badge> crossed = engine.onAction(commentAdded());
+
+        // Assert
+        assertTrue(crossed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop counting once every badge of the counter is earned")
+    void shouldNotTrackEarnedCounters() {
+        // Arrange
+        when(userBadgeRepository.findBadgeCodesByUserId(1L)).thenReturn(List.of("COMMUNICATOR"));
+        BadgeRuleEngine engine = engine(communicator(3), 0);
+
+        // Act
+        List<Badge> crossed = engine.onAction(commentAdded());
+
+        // Assert
+        assertTrue(crossed.isEmpty());
+        verifyNoInteractions(commentRepository);
+    }
+
+    private BadgeRuleEngine engine(Badge badge, int recheckMargin) {
+        BadgeRuleEngine engine = new BadgeRuleEngine(commentRepository, mock(TaskRepository.class),
+                mock(ProjectRepository.class), userBadgeRepository, 100, Duration.ofMinutes(5), recheckMargin);
+        engine.registerBadges(List.of(badge));
+        return engine;
+    }
+
+    private static Badge communicator(int requiredCount) {
+        return Badge.builder()
+                .code("COMMUNICATOR")
+                .name("Comunicador")
+                .criteriaType("COMMENTS_MADE")
+                .requiredCount(requiredCount)
+                .build();
+    }
+
+    private static UserActionEvent commentAdded() {
+        return UserActionEvent.of(USER, ActionType.COMMENT_ADDED);
+    }
+
+    private static List<String> codes(List<Badge> badges) {
+        return badges.stream().map(Badge::getCode).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.nexilum.service;
+
+import com.nexilum.entity.ActivityLog;
+import com.nexilum.entity.User;
+import com.nexilum.enums.ActionType;
+import com.nexilum.repository.UserDailyActivityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DailyActivityRollup.
+ * Tests: a batch becomes one increment per user and day.
+ */
+class DailyActivityRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    @DisplayName("Should sum a batch into one increment per user and day")
+    void shouldGroupBatchByUserAndDay() {
+        // Arrange
+        UserDailyActivityRepository repository = mock(UserDailyActivityRepository.class);
+        DailyActivityRollup rollup = new DailyActivityRollup(repository);
+
+        // Act
+        rollup.apply(List.of(
+                entry(1L, DAY.atTime(9, 0), 5),
+                entry(1L, DAY.atTime(18, 30), 10),
+                entry(1L, DAY.plusDays(1).atTime(0, 5), null),
+                entry(2L, DAY.atTime(12, 0), 3)
+        ));
+
+        // Assert
+        verify(repository).increment(1L, DAY, 2, 15);
+        verify(repository).increment(1L, DAY.plusDays(1), 1, 0);
+        verify(repository).increment(2L, DAY, 1, 3);
+        verifyNoMoreInteractions(repository);
+    }
+
+    private static ActivityLog entry(Long userId, LocalDateTime createdAt, Integer points) {
+        return ActivityLog.builder()
+                .action(ActionType.TASK_COMPLETED)
+                .user(User.builder().id(userId).build())
+                .createdAt(createdAt)
+                .pointsEarned(points)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.nexilum.service;
+
+import com.nexilum.event.LeaderChangedEvent;
+import com.nexilum.event.PointsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeaderTracker over a real RankingIndex.
+ * Tests: who counts as leader and when LeaderChangedEvent is published.
+ */
+class LeaderTrackerTest {
+
+    private RankingIndex rankingIndex;
+    private List<Object> events;
+    private LeaderTracker leaderTracker;
+
+    @BeforeEach
+    void setUp() {
+        // The repository is only used by rebuild()
+        rankingIndex = new RankingIndex(null);
+        events = new ArrayList<>();
+        leaderTracker = new LeaderTracker(rankingIndex, events::add);
+    }
+
+    @Test
+    @DisplayName("Should publish when a user on top with zero points starts scoring")
+    void shouldPublishWhenZeroPointLeaderScores() {
+        // Arrange - first registered user is on top (ties go to the lowest id) with no points
+        rankingIndex.update(1L, 0);
+        rankingIndex.update(2L, 0);
+        leaderTracker.initialize();
+
+        // Act
+        rankingIndex.update(1L, 10);
+        leaderTracker.onPointsChanged(new PointsChangedEvent(1L, "first@test.com", 10));
+
+        // Assert
+        assertEquals(List.of(new LeaderChangedEvent(null, 1L, 10)), events);
+        assertEquals(1L, leaderTracker.getCurrentLeaderId());
+    }
+
+    @Test
+    @DisplayName("Should catch up an existing leader on startup")
+    void shouldPublishExistingLeaderOnStartup() {
+        // Arrange
+        rankingIndex.update(1L, 50);
+        rankingIndex.update(2L, 80);
+
+        // Act
+        leaderTracker.initialize();
+
+        // Assert
+        assertEquals(List.of(new LeaderChangedEvent(null, 2L, 80)), events);
+    }
+
+    @Test
+    @DisplayName("Should publish only when the leader changes")
+    void shouldPublishOnlyOnChange() {
+        // Arrange
+        rankingIndex.update(1L, 50);
+        leaderTracker.initialize();
+        events.clear();
+
+        // Act - leader scores again, then is overtaken
+        rankingIndex.update(1L, 60);
+        leaderTracker.onPointsChanged(new PointsChangedEvent(1L, "one@test.com", 60));
+        rankingIndex.update(2L, 70);
+        leaderTracker.onPointsChanged(new PointsChangedEvent(2L, "two@test.com", 70));
+
+        // Assert
+        assertEquals(List.of(new LeaderChangedEvent(1L, 2L, 70)), events);
+    }
+}
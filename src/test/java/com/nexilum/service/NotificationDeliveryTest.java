@@ -0,0 +1,145 @@
+package com.nexilum.service;
+
+import com.nexilum.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationDelivery.
+ * Tests: work deferred until commit, dropped on rollback, inbox failures isolated from sending,
+ * and a full queue that makes the caller wait instead of delivering on its own thread.
+ */
+class NotificationDeliveryTest {
+
+    private NotificationInbox notificationInbox;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDelivery delivery;
+    private final List<NotificationResponse> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sendLatch = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        notificationInbox = mock(NotificationInbox.class);
+        meterRegistry = new SimpleMeterRegistry();
+        delivery = new NotificationDelivery(notificationInbox, meterRegistry, 1, 10, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        delivery.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record and send only after the transaction commits")
+    void shouldDeliverAfterCommit() throws InterruptedException {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        NotificationResponse notification = NotificationResponse.levelUp(3, "Pleno", 300);
+
+        // Act
+        delivery.deliver(List.of(1L, 2L), notification, this::send);
+        Thread.sleep(100);
+        verifyNoInteractions(notificationInbox);
+        assertTrue(sent.isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertTrue(sendLatch.await(5, TimeUnit.SECONDS));
+        verify(notificationInbox).record(List.of(1L, 2L), notification);
+        assertEquals(List.of(notification), sent);
+    }
+
+    @Test
+    @DisplayName("Should drop the notification when the transaction rolls back")
+    void shouldNotDeliverOnRollback() throws InterruptedException {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        delivery.deliver(List.of(1L), NotificationResponse.levelUp(2, "Junior", 100), this::send);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertFalse(sendLatch.await(200, TimeUnit.MILLISECONDS));
+        verifyNoInteractions(notificationInbox);
+    }
+
+    @Test
+    @DisplayName("Should still send when the inbox cannot be written")
+    void shouldSendWhenInboxFails() throws InterruptedException {
+        // Arrange
+        when(notificationInbox.record(anyCollection(), any()))
+                .thenThrow(new DataAccessResourceFailureException("inbox down"));
+        NotificationResponse notification = NotificationResponse.levelUp(4, "Senior", 600);
+
+        // Act
+        delivery.deliver(List.of(1L), notification, this::send);
+
+        // Assert
+        assertTrue(sendLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(notification), sent);
+        assertEquals(1.0, meterRegistry.get("notifications.delivery.failures").tag("stage", "inbox").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should make the caller wait for room instead of delivering on its own thread")
+    void shouldWaitForRoomWhenQueueIsFull() throws InterruptedException {
+        // Arrange: one worker held busy and a queue of one
+        delivery.shutdown();
+        delivery = new NotificationDelivery(notificationInbox, new SimpleMeterRegistry(), 1, 1, false);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        Consumer<NotificationResponse> blockingSend = notification -> {
+            threads.add(Thread.currentThread().getName());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.countDown();
+        };
+        NotificationResponse notification = NotificationResponse.levelUp(2, "Junior", 100);
+        delivery.deliver(List.of(1L), notification, blockingSend);
+        delivery.deliver(List.of(2L), notification, blockingSend);
+
+        // Act
+        Thread caller = new Thread(() -> delivery.deliver(List.of(3L), notification, blockingSend), "committer");
+        caller.start();
+        caller.join(300);
+
+        // Assert
+        assertTrue(caller.isAlive(), "caller should wait while the queue is full");
+        release.countDown();
+        caller.join(5000);
+        assertFalse(caller.isAlive());
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(3, threads.size());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("notification-")), threads.toString());
+    }
+
+    private void send(NotificationResponse notification) {
+        sent.add(notification);
+        sendLatch.countDown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.nexilum.service;
+
+import com.nexilum.event.ProjectMembershipChangedEvent;
+import com.nexilum.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectAccessService.
+ * Tests: cached decisions, invalidation per member and per project, and lookups that
+ * overlap a membership change not being cached.
+ */
+class ProjectAccessServiceTest {
+
+    private ProjectRepository projectRepository;
+    private ProjectAccessService projectAccessService;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        projectAccessService = new ProjectAccessService(projectRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should query membership once while the decision is cached")
+    void shouldCacheDecision() {
+        // Arrange
+        when(projectRepository.isUserMemberOfProject(1L, 10L)).thenReturn(true);
+
+        // Act
+        boolean first = projectAccessService.hasAccess(1L, 10L);
+        boolean second = projectAccessService.hasAccess(1L, 10L);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(projectRepository, times(1)).isUserMemberOfProject(1L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should drop the member's decision, or the whole project's, when membership changes")
+    void shouldInvalidateOnMembershipChange() {
+        // Arrange
+        when(projectRepository.isUserMemberOfProject(anyLong(), anyLong())).thenReturn(true, false);
+        when(projectRepository.isUserMemberOfProject(2L, 20L)).thenReturn(true);
+        projectAccessService.hasAccess(1L, 10L);
+        projectAccessService.hasAccess(2L, 20L);
+
+        // Act
+        projectAccessService.onMembershipChanged(new ProjectMembershipChangedEvent(1L, 10L));
+        projectAccessService.onMembershipChanged(ProjectMembershipChangedEvent.allMembers(2L));
+
+        // Assert
+        assertFalse(projectAccessService.hasAccess(1L, 10L));
+        projectAccessService.hasAccess(2L, 20L);
+        verify(projectRepository, times(2)).isUserMemberOfProject(1L, 10L);
+        verify(projectRepository, times(2)).isUserMemberOfProject(2L, 20L);
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup that overlapped a membership change")
+    void shouldNotCacheOverlappingLookup() {
+        // Arrange - the member is removed while the first lookup is still reading
+        when(projectRepository.isUserMemberOfProject(1L, 10L)).thenAnswer(invocation -> {
+            projectAccessService.onMembershipChanged(new ProjectMembershipChangedEvent(1L, 10L));
+            return true;
+        }).thenReturn(false);
+
+        // Act
+        boolean during = projectAccessService.hasAccess(1L, 10L);
+        boolean after = projectAccessService.hasAccess(1L, 10L);
+
+        // Assert
+        assertTrue(during);
+        assertFalse(after);
+        verify(projectRepository, times(2)).isUserMemberOfProject(1L, 10L);
+    }
+}
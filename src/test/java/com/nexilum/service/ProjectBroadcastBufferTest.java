@@ -0,0 +1,107 @@
+package com.nexilum.service;
+
+import com.nexilum.event.TaskChangedEvent;
+import com.nexilum.service.NotificationService.ProjectEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectBroadcastBuffer.
+ * Tests: coalescing per task, TASKS_BATCH frames, and the per-project limit.
+ * Flushes are triggered by hand; the scheduler is never started.
+ */
+class ProjectBroadcastBufferTest {
+
+    private static final Long PROJECT_ID = 7L;
+
+    private NotificationService notificationService;
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectBroadcastBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new ProjectBroadcastBuffer(notificationService, meterRegistry, Duration.ofMillis(50), 2);
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest event of a task and send it as a single frame")
+    void shouldCoalesceEventsOfSameTask() {
+        // Arrange
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_UPDATED", "v1"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_STATUS_CHANGED", "v2"));
+
+        // Act
+        buffer.flush();
+        buffer.flush();
+
+        // Assert
+        verify(notificationService, times(1)).broadcastToProjectChannel(PROJECT_ID, "TASK_STATUS_CHANGED", "v2");
+        verifyNoMoreInteractions(notificationService);
+        assertEquals(1.0, meterRegistry.get("websocket.broadcast.events").tag("outcome", "coalesced").counter().count());
+        assertEquals(1.0, meterRegistry.get("websocket.broadcast.frames").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should send several tasks as one TASKS_BATCH frame, latest change last")
+    void shouldBatchSeveralTasks() {
+        // Arrange
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_CREATED", "t1"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 2L, "TASK_CREATED", "t2"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_UPDATED", "t1 edited"));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        verify(notificationService).broadcastToProjectChannel(PROJECT_ID, ProjectBroadcastBuffer.BATCH_EVENT, List.of(
+                new ProjectEvent("TASK_CREATED", "t2"),
+                new ProjectEvent("TASK_UPDATED", "t1 edited")
+        ));
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("Should drop new tasks over the limit but still coalesce pending ones")
+    void shouldDropNewTasksWhenFull() {
+        // Arrange
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_CREATED", "t1"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 2L, "TASK_CREATED", "t2"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 3L, "TASK_CREATED", "t3"));
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 2L, "TASK_UPDATED", "t2 edited"));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        verify(notificationService).broadcastToProjectChannel(eq(PROJECT_ID), eq(ProjectBroadcastBuffer.BATCH_EVENT),
+                eq(List.of(new ProjectEvent("TASK_CREATED", "t1"), new ProjectEvent("TASK_UPDATED", "t2 edited"))));
+        assertEquals(1.0, meterRegistry.get("websocket.broadcast.events").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep projects apart")
+    void shouldSendOneFramePerProject() {
+        // Arrange
+        buffer.onTaskChanged(new TaskChangedEvent(PROJECT_ID, 1L, "TASK_CREATED", "a"));
+        buffer.onTaskChanged(new TaskChangedEvent(8L, 2L, "TASK_CREATED", "b"));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        verify(notificationService).broadcastToProjectChannel(PROJECT_ID, "TASK_CREATED", "a");
+        verify(notificationService).broadcastToProjectChannel(8L, "TASK_CREATED", "b");
+        verify(notificationService, never()).broadcastToProjectChannel(anyLong(), eq(ProjectBroadcastBuffer.BATCH_EVENT), any());
+    }
+}
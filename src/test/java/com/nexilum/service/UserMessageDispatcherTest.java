@@ -0,0 +1,87 @@
+package com.nexilum.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserMessageDispatcher.
+ * Tests: one encoding shared by every recipient, and isolation of failed deliveries.
+ */
+class UserMessageDispatcherTest {
+
+    private static final long DELIVERY_TIMEOUT_MS = 5_000;
+
+    private SimpMessagingTemplate messagingTemplate;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private UserMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        objectMapper = spy(new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new UserMessageDispatcher(messagingTemplate, objectMapper, meterRegistry, 2, 10, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should encode the payload once and send the same message to every recipient")
+    @SuppressWarnings("unchecked")
+    void shouldEncodeOnceForAllRecipients() throws Exception {
+        // Arrange
+        Message<byte[]> message = dispatcher.encode(Map.of("event", "TASK_ASSIGNED"));
+
+        // Act
+        dispatcher.sendToUsers(List.of("ana@test.com", "bruno@test.com", "team/lead"), "/queue/notifications", message);
+
+        // Assert
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT_MS).times(3)).send(destinations.capture(), sent.capture());
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+        assertEquals(List.of(
+                "/user/ana@test.com/queue/notifications",
+                "/user/bruno@test.com/queue/notifications",
+                "/user/team%2Flead/queue/notifications"
+        ), destinations.getAllValues());
+        sent.getAllValues().forEach(each -> assertSame(message, each));
+        assertEquals("{\"event\":\"TASK_ASSIGNED\"}", new String(message.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to the other recipients when one send fails")
+    void shouldIsolateFailedDelivery() {
+        // Arrange
+        Message<byte[]> message = dispatcher.encode(Map.of("event", "TASK_UPDATED"));
+        doThrow(new MessagingException("closed"))
+                .when(messagingTemplate).send(eq("/user/broken@test.com/queue/notifications"), any(Message.class));
+
+        // Act
+        dispatcher.sendToUsers(List.of("broken@test.com", "ok@test.com"), "/queue/notifications", message);
+
+        // Assert
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT_MS)).send("/user/ok@test.com/queue/notifications", message);
+        assertEquals(1.0, meterRegistry.get("websocket.fanout.failures").counter().count());
+    }
+}